@@ -0,0 +1,170 @@
+/**
+ * The MIT License
+ * Copyright © 2022 FAIR Data Team
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+import org.eclipse.rdf4j.model.IRI;
+import org.eclipse.rdf4j.model.ValueFactory;
+import org.eclipse.rdf4j.model.vocabulary.DCAT;
+import org.eclipse.rdf4j.model.vocabulary.DCTERMS;
+import org.eclipse.rdf4j.model.vocabulary.RDF;
+import org.eclipse.rdf4j.query.TupleQueryResult;
+import org.eclipse.rdf4j.repository.RepositoryConnection;
+import org.eclipse.rdf4j.repository.sail.SailRepository;
+import org.eclipse.rdf4j.sail.Sail;
+import org.fairdatatrain.fairdatastation.config.properties.RepositoryLmdbProperties;
+import org.fairdatatrain.fairdatastation.config.properties.RepositoryNativeProperties;
+import org.fairdatatrain.fairdatastation.config.storage.LocalStoreFactory;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.function.Function;
+
+import static java.lang.String.format;
+
+// load and query times of local stores created as configured by default (see store-benchmark.sh)
+public final class StoreBenchmark {
+
+    private static final String PREFIXES = """
+            PREFIX dcat: <http://www.w3.org/ns/dcat#>
+            PREFIX dct: <http://purl.org/dc/terms/>
+            """;
+
+    private static final Map<String, String> QUERIES = Map.of(
+            "subject lookup (100x)", "SELECT ?p ?o WHERE { <urn:fds:dataset:%d> ?p ?o }",
+            "type and title join", PREFIXES
+                    + "SELECT ?s ?title WHERE { ?s a dcat:Dataset ; dct:title ?title }",
+            "keyword aggregation", PREFIXES
+                    + "SELECT ?k (COUNT(?s) AS ?n) WHERE { ?s dcat:keyword ?k } GROUP BY ?k",
+            "object lookup", PREFIXES
+                    + "SELECT ?s WHERE { ?s dct:publisher <urn:fds:publisher:7> }"
+    );
+
+    private static final int BATCH_SIZE = 10_000;
+
+    private static final int SUBJECT_LOOKUPS = 100;
+
+    private static final int KEYWORDS = 500;
+
+    private static final int PUBLISHERS = 50;
+
+    private static final int STATEMENTS_PER_DATASET = 6;
+
+    private StoreBenchmark() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        final int statements = args.length > 0 ? Integer.parseInt(args[0]) : 600_000;
+        final int runs = args.length > 1 ? Integer.parseInt(args[1]) : 5;
+        final int datasets = statements / STATEMENTS_PER_DATASET;
+        System.out.printf("Statements: %d, query runs: %d (median of warm runs)%n",
+                datasets * STATEMENTS_PER_DATASET, runs);
+        run("NativeStore", dir -> {
+            final RepositoryNativeProperties properties = new RepositoryNativeProperties();
+            properties.setDir(dir.toString());
+            return LocalStoreFactory.createNativeStore(properties);
+        }, datasets, runs);
+        run("LmdbStore", dir -> {
+            final RepositoryLmdbProperties properties = new RepositoryLmdbProperties();
+            properties.setDir(dir.toString());
+            return LocalStoreFactory.createLmdbStore(properties);
+        }, datasets, runs);
+    }
+
+    private static void run(String name, Function<Path, Sail> factory, int datasets, int runs)
+            throws IOException {
+        final Path dir = Files.createTempDirectory("fds-benchmark-");
+        final SailRepository repository = new SailRepository(factory.apply(dir));
+        repository.init();
+        try (RepositoryConnection connection = repository.getConnection()) {
+            final long loadStart = System.nanoTime();
+            load(connection, datasets);
+            System.out.printf("%n%s%n  load: %d ms%n", name, millis(loadStart));
+            for (Map.Entry<String, String> query : QUERIES.entrySet()) {
+                final List<Long> times = new ArrayList<>();
+                // first run warms caches and is not counted
+                for (int run = 0; run <= runs; run++) {
+                    final long start = System.nanoTime();
+                    evaluate(connection, query.getValue(), datasets);
+                    if (run > 0) {
+                        times.add(millis(start));
+                    }
+                }
+                times.sort(Comparator.naturalOrder());
+                System.out.printf("  %s: %d ms%n", query.getKey(), times.get(times.size() / 2));
+            }
+        }
+        finally {
+            repository.shutDown();
+            try (var paths = Files.walk(dir)) {
+                paths.sorted(Comparator.reverseOrder()).map(Path::toFile).forEach(file -> {
+                    file.delete();
+                });
+            }
+        }
+    }
+
+    private static void load(RepositoryConnection connection, int datasets) {
+        final ValueFactory factory = connection.getValueFactory();
+        // same data for every store
+        final Random random = new Random(datasets);
+        connection.begin();
+        for (int index = 0; index < datasets; index++) {
+            final IRI dataset = factory.createIRI(format("urn:fds:dataset:%d", index));
+            connection.add(dataset, RDF.TYPE, DCAT.DATASET);
+            connection.add(dataset, DCTERMS.TITLE, factory.createLiteral("Dataset " + index));
+            connection.add(dataset, DCTERMS.ISSUED,
+                    factory.createLiteral(random.nextInt(Integer.MAX_VALUE)));
+            connection.add(dataset, DCTERMS.PUBLISHER, factory.createIRI(
+                    format("urn:fds:publisher:%d", random.nextInt(PUBLISHERS))));
+            connection.add(dataset, DCAT.KEYWORD,
+                    factory.createLiteral("keyword " + random.nextInt(KEYWORDS)));
+            connection.add(dataset, DCAT.KEYWORD,
+                    factory.createLiteral("keyword " + random.nextInt(KEYWORDS)));
+            if (index % BATCH_SIZE == BATCH_SIZE - 1) {
+                connection.commit();
+                connection.begin();
+            }
+        }
+        connection.commit();
+    }
+
+    private static void evaluate(RepositoryConnection connection, String query, int datasets) {
+        final boolean lookups = query.contains("%d");
+        final Random random = new Random(datasets);
+        for (int lookup = 0; lookup < (lookups ? SUBJECT_LOOKUPS : 1); lookup++) {
+            final String sparql = lookups ? format(query, random.nextInt(datasets)) : query;
+            try (TupleQueryResult result = connection.prepareTupleQuery(sparql).evaluate()) {
+                result.forEach(bindings -> {
+                });
+            }
+        }
+    }
+
+    private static long millis(long start) {
+        return (System.nanoTime() - start) / 1_000_000;
+    }
+}
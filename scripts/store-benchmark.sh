@@ -0,0 +1,13 @@
+#!/usr/bin/env bash
+#
+# Compares load and query times of local triple stores (Native Store and LMDB)
+# with the default configuration on generated DCAT-like data.
+#
+# Usage: scripts/store-benchmark.sh [statements (600000)] [query runs (5)]
+#
+set -euo pipefail
+
+cd "$(dirname "$0")/.."
+
+mvn -B -q compile dependency:build-classpath -Dmdep.outputFile=target/benchmark.classpath
+java -cp "target/classes:$(cat target/benchmark.classpath)" scripts/StoreBenchmark.java "$@"
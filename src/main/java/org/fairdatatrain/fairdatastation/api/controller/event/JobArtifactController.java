@@ -28,7 +28,6 @@ import org.fairdatatrain.fairdatastation.api.dto.event.job.artifact.JobArtifactD
 import org.fairdatatrain.fairdatastation.data.model.event.JobArtifact;
 import org.fairdatatrain.fairdatastation.exception.NotFoundException;
 import org.fairdatatrain.fairdatastation.service.event.job.artifact.JobArtifactService;
-import org.springframework.core.io.ByteArrayResource;
 import org.springframework.core.io.Resource;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
@@ -69,8 +68,7 @@ public class JobArtifactController {
             @PathVariable UUID jobUuid, @PathVariable UUID artifactUuid
     ) throws NotFoundException {
         final JobArtifact artifact = jobArtifactService.getByIdOrThrow(jobUuid, artifactUuid);
-        final byte[] data = jobArtifactService.getArtifactData(artifact);
-        final ByteArrayResource resource = new ByteArrayResource(data);
+        final Resource resource = jobArtifactService.getArtifactResource(artifact);
         return ResponseEntity
                 .ok()
                 .contentLength(artifact.getBytesize())
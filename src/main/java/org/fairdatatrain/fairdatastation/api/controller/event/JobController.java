@@ -27,12 +27,14 @@ import lombok.RequiredArgsConstructor;
 import org.fairdatatrain.fairdatastation.api.dto.event.job.JobDTO;
 import org.fairdatatrain.fairdatastation.api.dto.event.job.JobSimpleDTO;
 import org.fairdatatrain.fairdatastation.exception.NotFoundException;
+import org.fairdatatrain.fairdatastation.service.event.TrainEventService;
 import org.fairdatatrain.fairdatastation.service.event.job.JobService;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
@@ -46,6 +48,8 @@ public class JobController {
 
     private final JobService jobService;
 
+    private final TrainEventService trainEventService;
+
     @GetMapping(path = "", produces = MediaType.APPLICATION_JSON_VALUE)
     public Page<JobSimpleDTO> getJobs(Pageable pageable) {
         return jobService.getJobs(pageable);
@@ -60,4 +64,14 @@ public class JobController {
     ) throws NotFoundException {
         return jobService.getJob(jobUuid);
     }
+
+    @PostMapping(
+            path = "/{jobUuid}/cancel",
+            produces = MediaType.APPLICATION_JSON_VALUE
+    )
+    public JobDTO cancelJob(
+            @PathVariable UUID jobUuid
+    ) throws NotFoundException {
+        return trainEventService.cancelJob(jobUuid);
+    }
 }
@@ -45,6 +45,9 @@ public class TrainDispatchPayloadDTO {
     @ValidIri
     private String callbackEventLocation;
 
+    // optional, handler accepts array of events at callbackEventLocation
+    private Boolean callbackEventBatch;
+
     @NotNull
     @ValidIri
     private String callbackArtifactLocation;
@@ -52,4 +55,7 @@ public class TrainDispatchPayloadDTO {
     @NotNull
     @ValidIri
     private String trainUri;
+
+    // optional, orders jobs from the same origin (higher first)
+    private Integer priority;
 }
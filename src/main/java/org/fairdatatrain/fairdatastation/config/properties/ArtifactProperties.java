@@ -0,0 +1,57 @@
+/**
+ * The MIT License
+ * Copyright © 2022 FAIR Data Team
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.fairdatatrain.fairdatastation.config.properties;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.fairdatatrain.fairdatastation.data.model.enums.ArtifactStorage;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "data-station.artifacts")
+public class ArtifactProperties {
+
+    private static final long DEFAULT_LARGE_THRESHOLD_MB = 1;
+
+    // storage used for new artifacts
+    private ArtifactStorage storage = ArtifactStorage.POSTGRES;
+
+    // optional storage for artifacts larger than the threshold
+    private ArtifactStorage largeStorage;
+
+    private DataSize largeThreshold = DataSize.ofMegabytes(DEFAULT_LARGE_THRESHOLD_MB);
+
+    private ArtifactLocalFsProperties localfs = new ArtifactLocalFsProperties();
+
+    private ArtifactS3Properties s3Storage = new ArtifactS3Properties();
+
+    public void setS3(ArtifactS3Properties artifactS3Properties) {
+        this.s3Storage = artifactS3Properties;
+    }
+}
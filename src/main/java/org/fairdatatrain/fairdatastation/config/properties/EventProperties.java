@@ -0,0 +1,97 @@
+/**
+ * The MIT License
+ * Copyright © 2022 FAIR Data Team
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.fairdatatrain.fairdatastation.config.properties;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "data-station.events")
+public class EventProperties {
+
+    private static final int DEFAULT_BATCH_SIZE = 50;
+
+    private static final long DEFAULT_BATCH_LINGER_SECONDS = 5;
+
+    private static final int DEFAULT_DELIVERY_CONCURRENCY = 16;
+
+    private static final int DEFAULT_DELIVERY_HOST_CONCURRENCY = 2;
+
+    private static final long DEFAULT_DELIVERY_TIMEOUT_SECONDS = 30;
+
+    private static final long DEFAULT_ARTIFACT_DELIVERY_TIMEOUT_MINUTES = 5;
+
+    private static final long DEFAULT_ARTIFACT_DELIVERY_MIN_RATE_MB = 1;
+
+    private static final int DEFAULT_CIRCUIT_FAILURE_THRESHOLD = 5;
+
+    private static final long DEFAULT_CIRCUIT_OPEN_MINUTES = 1;
+
+    private static final long DEFAULT_CIRCUIT_MAX_OPEN_MINUTES = 60;
+
+    // maximal number of events sent in one request (to handlers supporting it)
+    private int batchSize = DEFAULT_BATCH_SIZE;
+
+    // how long events may wait for more events to be sent together
+    private Duration batchLinger = Duration.ofSeconds(DEFAULT_BATCH_LINGER_SECONDS);
+
+    // maximal number of deliveries in flight (in total and per callback host)
+    private int deliveryConcurrency = DEFAULT_DELIVERY_CONCURRENCY;
+
+    private int deliveryHostConcurrency = DEFAULT_DELIVERY_HOST_CONCURRENCY;
+
+    private Duration deliveryTimeout = Duration.ofSeconds(DEFAULT_DELIVERY_TIMEOUT_SECONDS);
+
+    // artifacts are uploaded in the request, large ones get more time by the minimal rate
+    private Duration artifactDeliveryTimeout =
+            Duration.ofMinutes(DEFAULT_ARTIFACT_DELIVERY_TIMEOUT_MINUTES);
+
+    private DataSize artifactDeliveryMinRate =
+            DataSize.ofMegabytes(DEFAULT_ARTIFACT_DELIVERY_MIN_RATE_MB);
+
+    // consecutive failures after which deliveries to the host are deferred
+    private int circuitFailureThreshold = DEFAULT_CIRCUIT_FAILURE_THRESHOLD;
+
+    // deferral before probing the host again, doubled after each failed probe
+    private Duration circuitOpenDuration = Duration.ofMinutes(DEFAULT_CIRCUIT_OPEN_MINUTES);
+
+    private Duration circuitMaxOpenDuration = Duration.ofMinutes(DEFAULT_CIRCUIT_MAX_OPEN_MINUTES);
+
+    public Duration computeArtifactDeliveryTimeout(long bytesize) {
+        final long rate = Math.max(1, artifactDeliveryMinRate.toBytes());
+        final Duration transfer = Duration.ofSeconds(bytesize / rate);
+        return transfer.compareTo(artifactDeliveryTimeout) > 0
+                ? transfer
+                : artifactDeliveryTimeout;
+    }
+
+}
@@ -0,0 +1,69 @@
+/**
+ * The MIT License
+ * Copyright © 2022 FAIR Data Team
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.fairdatatrain.fairdatastation.config.properties;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "data-station.jobs")
+public class JobProperties {
+
+    private static final long DEFAULT_SHUTDOWN_MINUTES = 5;
+
+    private static final long DEFAULT_LEASE_MINUTES = 5;
+
+    private static final int DEFAULT_MAX_ATTEMPTS = 3;
+
+    // number of jobs processed at the same time
+    private int concurrency = 2;
+
+    // how long to wait for running jobs when shutting down
+    private Duration shutdownTimeout = Duration.ofMinutes(DEFAULT_SHUTDOWN_MINUTES);
+
+    // claimed job is taken over by another instance if not renewed in time
+    private Duration lease = Duration.ofMinutes(DEFAULT_LEASE_MINUTES);
+
+    // job is failed instead of being resumed again (e.g. crashing the station)
+    private int maxAttempts = DEFAULT_MAX_ATTEMPTS;
+
+    // start processing right after a job is queued (PostgreSQL LISTEN/NOTIFY)
+    private boolean listen = true;
+
+    // scheduling of origins (callback host) without own settings
+    private JobOriginProperties originDefaults = new JobOriginProperties();
+
+    // scheduling per origin (callback host)
+    private Map<String, JobOriginProperties> origins = new HashMap<>();
+
+}
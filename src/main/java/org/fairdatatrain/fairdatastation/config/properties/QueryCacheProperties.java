@@ -0,0 +1,65 @@
+/**
+ * The MIT License
+ * Copyright © 2022 FAIR Data Team
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.fairdatatrain.fairdatastation.config.properties;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "data-station.query-cache")
+public class QueryCacheProperties {
+
+    private static final long DEFAULT_TTL_MINUTES = 10;
+
+    private static final int DEFAULT_MAX_ENTRIES = 100;
+
+    private static final long DEFAULT_MAX_SIZE_MB = 512;
+
+    private static final long DEFAULT_MAX_ENTRY_SIZE_MB = 128;
+
+    private static final long DEFAULT_MEMORY_THRESHOLD_MB = 1;
+
+    private boolean enabled;
+
+    private Duration ttl = Duration.ofMinutes(DEFAULT_TTL_MINUTES);
+
+    private int maxEntries = DEFAULT_MAX_ENTRIES;
+
+    // total size of cached results (in memory and on disk)
+    private DataSize maxSize = DataSize.ofMegabytes(DEFAULT_MAX_SIZE_MB);
+
+    // larger results are not cached
+    private DataSize maxEntrySize = DataSize.ofMegabytes(DEFAULT_MAX_ENTRY_SIZE_MB);
+
+    // larger results are kept in temporary files
+    private DataSize memoryThreshold = DataSize.ofMegabytes(DEFAULT_MEMORY_THRESHOLD_MB);
+}
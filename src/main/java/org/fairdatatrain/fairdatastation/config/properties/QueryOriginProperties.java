@@ -0,0 +1,64 @@
+/**
+ * The MIT License
+ * Copyright © 2022 FAIR Data Team
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.fairdatatrain.fairdatastation.config.properties;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Setter
+public class QueryOriginProperties {
+
+    private static final long DEFAULT_MAX_EXECUTION_MINUTES = 30;
+
+    private static final long DEFAULT_MAX_RESULT_ROWS = 1_000_000;
+
+    private static final long DEFAULT_MAX_RESULT_SIZE_MB = 1024;
+
+    private static final long DEFAULT_MAX_COST = 1_000_000_000;
+
+    private static final long DEFAULT_LOW_PRIORITY_COST = 10_000_000;
+
+    // evaluation of a query is interrupted afterwards (zero = no limit)
+    private Duration maxExecutionTime = Duration.ofMinutes(DEFAULT_MAX_EXECUTION_MINUTES);
+
+    // solutions (SELECT) or statements (CONSTRUCT/DESCRIBE) per job (0 = no limit)
+    private long maxResultRows = DEFAULT_MAX_RESULT_ROWS;
+
+    // bytes of all artifacts with query results per job (zero = no limit)
+    private DataSize maxResultSize = DataSize.ofMegabytes(DEFAULT_MAX_RESULT_SIZE_MB);
+
+    // queries with higher estimated cost (rows of the largest intermediate result)
+    // are rejected (0 = no limit)
+    private long maxCost = DEFAULT_MAX_COST;
+
+    // jobs with more expensive queries are requeued with low priority (0 = never)
+    private long lowPriorityCost = DEFAULT_LOW_PRIORITY_COST;
+}
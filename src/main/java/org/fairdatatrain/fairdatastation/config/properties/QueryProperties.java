@@ -0,0 +1,65 @@
+/**
+ * The MIT License
+ * Copyright © 2022 FAIR Data Team
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.fairdatatrain.fairdatastation.config.properties;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.HashMap;
+import java.util.Map;
+
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "data-station.queries")
+public class QueryProperties {
+
+    private static final long DEFAULT_STATISTICS_LIMIT = 10_000;
+
+    private static final int DEFAULT_LOW_PRIORITY = -10;
+
+    private static final int DEFAULT_PARSED_CACHE_SIZE = 256;
+
+    // matching statements counted for cost estimation, whole store size assumed above
+    private long statisticsLimit = DEFAULT_STATISTICS_LIMIT;
+
+    // priority of jobs with expensive queries (low-priority lane)
+    private int lowPriority = DEFAULT_LOW_PRIORITY;
+
+    // number of parsed queries kept for validation and execution (0 = no cache)
+    private int parsedCacheSize = DEFAULT_PARSED_CACHE_SIZE;
+
+    // limits of origins (callback host) without own settings
+    private QueryOriginProperties originDefaults = new QueryOriginProperties();
+
+    // limits per origin (callback host)
+    private Map<String, QueryOriginProperties> origins = new HashMap<>();
+
+    public QueryOriginProperties getOrigin(String origin) {
+        return origins.getOrDefault(origin, originDefaults);
+    }
+}
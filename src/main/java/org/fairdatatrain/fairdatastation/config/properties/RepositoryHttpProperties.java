@@ -0,0 +1,72 @@
+/**
+ * The MIT License
+ * Copyright © 2022 FAIR Data Team
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.fairdatatrain.fairdatastation.config.properties;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.Duration;
+
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Setter
+public class RepositoryHttpProperties {
+
+    private static final int DEFAULT_MAX_CONNECTIONS = 20;
+
+    private static final long DEFAULT_CONNECT_TIMEOUT_SECONDS = 10;
+
+    private static final long DEFAULT_SOCKET_TIMEOUT_MINUTES = 30;
+
+    private static final long DEFAULT_ACQUIRE_TIMEOUT_MINUTES = 5;
+
+    private static final long DEFAULT_KEEP_ALIVE_SECONDS = 60;
+
+    private static final long DEFAULT_IDLE_TIMEOUT_SECONDS = 30;
+
+    // connections to a remote store, limits concurrent requests to it
+    private int maxConnections = DEFAULT_MAX_CONNECTIONS;
+
+    private Duration connectTimeout = Duration.ofSeconds(DEFAULT_CONNECT_TIMEOUT_SECONDS);
+
+    // maximal time without data received (e.g. long-running query)
+    private Duration socketTimeout = Duration.ofMinutes(DEFAULT_SOCKET_TIMEOUT_MINUTES);
+
+    // waiting for a free connection when all are in use
+    private Duration acquireTimeout = Duration.ofMinutes(DEFAULT_ACQUIRE_TIMEOUT_MINUTES);
+
+    // used when the store does not send Keep-Alive header
+    private Duration keepAlive = Duration.ofSeconds(DEFAULT_KEEP_ALIVE_SECONDS);
+
+    // idle connections are closed afterwards
+    private Duration idleTimeout = Duration.ofSeconds(DEFAULT_IDLE_TIMEOUT_SECONDS);
+
+    // request gzip/deflate responses
+    private boolean compression = true;
+
+    // binary result formats for RDF4J protocol (GraphDB)
+    private boolean binaryResults = true;
+}
@@ -0,0 +1,55 @@
+/**
+ * The MIT License
+ * Copyright © 2022 FAIR Data Team
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.fairdatatrain.fairdatastation.config.properties;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.util.unit.DataSize;
+
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Setter
+public class RepositoryLmdbProperties {
+
+    private static final long DEFAULT_TRIPLE_DB_SIZE_GB = 1;
+
+    private static final long DEFAULT_VALUE_DB_SIZE_GB = 1;
+
+    private String dir = "";
+
+    // index permutations, e.g. "spoc,posc,ospc" (more indexes = faster reads, slower writes)
+    private String tripleIndexes = "spoc,posc";
+
+    // flush to disk on every commit
+    private boolean forceSync;
+
+    // initial size of memory maps, grown automatically if autoGrow is set
+    private DataSize tripleDbSize = DataSize.ofGigabytes(DEFAULT_TRIPLE_DB_SIZE_GB);
+
+    private DataSize valueDbSize = DataSize.ofGigabytes(DEFAULT_VALUE_DB_SIZE_GB);
+
+    private boolean autoGrow = true;
+}
@@ -32,5 +32,28 @@ import lombok.Setter;
 @Getter
 @Setter
 public class RepositoryNativeProperties {
+
+    private static final int DEFAULT_VALUE_CACHE_SIZE = 512;
+
+    private static final int DEFAULT_VALUE_ID_CACHE_SIZE = 128;
+
+    private static final int DEFAULT_NAMESPACE_CACHE_SIZE = 64;
+
+    private static final int DEFAULT_NAMESPACE_ID_CACHE_SIZE = 32;
+
     private String dir = "";
+
+    // index permutations, e.g. "spoc,posc,ospc,cosp" (store re-indexes on startup when changed)
+    private String tripleIndexes = "spoc,posc";
+
+    // flush to disk on every commit
+    private boolean forceSync;
+
+    private int valueCacheSize = DEFAULT_VALUE_CACHE_SIZE;
+
+    private int valueIdCacheSize = DEFAULT_VALUE_ID_CACHE_SIZE;
+
+    private int namespaceCacheSize = DEFAULT_NAMESPACE_CACHE_SIZE;
+
+    private int namespaceIdCacheSize = DEFAULT_NAMESPACE_ID_CACHE_SIZE;
 }
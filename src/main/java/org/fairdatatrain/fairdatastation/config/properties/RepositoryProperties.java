@@ -46,11 +46,15 @@ public class RepositoryProperties {
 
     public static final int TYPE_BLAZEGRAPH = 5;
 
+    public static final int TYPE_LMDB = 6;
+
     private int type;
     private RepositoryNativeProperties nativeRepo;
+    private RepositoryLmdbProperties lmdb = new RepositoryLmdbProperties();
     private RepositoryBasicProperties agraph;
     private RepositoryBasicProperties graphDb;
     private RepositoryBasicProperties blazegraph;
+    private RepositoryHttpProperties http = new RepositoryHttpProperties();
 
     public void setNative(RepositoryNativeProperties repositoryNativeProperties) {
         this.nativeRepo = repositoryNativeProperties;
@@ -63,15 +67,17 @@ public class RepositoryProperties {
             case TYPE_ALLEGRO -> "AllegroGraph";
             case TYPE_GRAPHDB -> "GraphDB";
             case TYPE_BLAZEGRAPH -> "Blazegraph";
+            case TYPE_LMDB -> "LMDB";
             default -> "Invalid";
         };
     }
 
     public String getDir() {
-        if (type == TYPE_NATIVE) {
-            return nativeRepo.getDir();
-        }
-        return null;
+        return switch (type) {
+            case TYPE_NATIVE -> nativeRepo.getDir();
+            case TYPE_LMDB -> lmdb.getDir();
+            default -> null;
+        };
     }
 
     public String getUrl() {
@@ -0,0 +1,59 @@
+/**
+ * The MIT License
+ * Copyright © 2022 FAIR Data Team
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.fairdatatrain.fairdatastation.config.storage;
+
+import org.eclipse.rdf4j.sail.Sail;
+import org.eclipse.rdf4j.sail.lmdb.LmdbStore;
+import org.eclipse.rdf4j.sail.lmdb.config.LmdbStoreConfig;
+import org.eclipse.rdf4j.sail.nativerdf.NativeStore;
+import org.fairdatatrain.fairdatastation.config.properties.RepositoryLmdbProperties;
+import org.fairdatatrain.fairdatastation.config.properties.RepositoryNativeProperties;
+
+import java.io.File;
+
+// stores kept in local directory
+public final class LocalStoreFactory {
+
+    private LocalStoreFactory() {
+    }
+
+    public static Sail createNativeStore(RepositoryNativeProperties properties) {
+        final NativeStore store =
+                new NativeStore(new File(properties.getDir()), properties.getTripleIndexes());
+        store.setForceSync(properties.isForceSync());
+        store.setValueCacheSize(properties.getValueCacheSize());
+        store.setValueIDCacheSize(properties.getValueIdCacheSize());
+        store.setNamespaceCacheSize(properties.getNamespaceCacheSize());
+        store.setNamespaceIDCacheSize(properties.getNamespaceIdCacheSize());
+        return store;
+    }
+
+    public static Sail createLmdbStore(RepositoryLmdbProperties properties) {
+        final LmdbStoreConfig config = new LmdbStoreConfig(properties.getTripleIndexes())
+                .setForceSync(properties.isForceSync())
+                .setTripleDBSize(properties.getTripleDbSize().toBytes())
+                .setValueDBSize(properties.getValueDbSize().toBytes())
+                .setAutoGrow(properties.isAutoGrow());
+        return new LmdbStore(new File(properties.getDir()), config);
+    }
+}
@@ -23,24 +23,24 @@
 package org.fairdatatrain.fairdatastation.config.storage;
 
 import lombok.extern.slf4j.Slf4j;
+import org.apache.http.client.HttpClient;
+import org.eclipse.rdf4j.query.resultio.TupleQueryResultFormat;
 import org.eclipse.rdf4j.repository.Repository;
 import org.eclipse.rdf4j.repository.RepositoryException;
 import org.eclipse.rdf4j.repository.config.RepositoryConfigException;
+import org.eclipse.rdf4j.repository.http.HTTPRepository;
 import org.eclipse.rdf4j.repository.manager.RemoteRepositoryManager;
-import org.eclipse.rdf4j.repository.manager.RepositoryManager;
 import org.eclipse.rdf4j.repository.sail.SailRepository;
 import org.eclipse.rdf4j.repository.sparql.SPARQLRepository;
+import org.eclipse.rdf4j.rio.RDFFormat;
 import org.eclipse.rdf4j.sail.Sail;
 import org.eclipse.rdf4j.sail.memory.MemoryStore;
-import org.eclipse.rdf4j.sail.nativerdf.NativeStore;
 import org.fairdatatrain.fairdatastation.config.properties.RepositoryProperties;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.ApplicationContext;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
-import java.io.File;
-
 import static org.fairdatatrain.fairdatastation.utils.HttpUtils.removeLastSlash;
 
 @Slf4j
@@ -51,15 +51,17 @@ public class RepositoryConfig {
     private RepositoryProperties repositoryProperties;
 
     @Bean(initMethod = "init", destroyMethod = "shutDown")
-    public Repository repository(ApplicationContext context)
+    public Repository repository(ApplicationContext context, HttpClient repositoryHttpClient)
             throws RepositoryException {
 
         final Repository repository = switch (repositoryProperties.getType()) {
             case RepositoryProperties.TYPE_IN_MEMORY -> getInMemoryStore();
             case RepositoryProperties.TYPE_NATIVE -> getNativeStore();
-            case RepositoryProperties.TYPE_ALLEGRO -> getAgraphRepository();
-            case RepositoryProperties.TYPE_GRAPHDB -> getGraphDBRepository();
-            case RepositoryProperties.TYPE_BLAZEGRAPH -> getBlazeGraphRepository();
+            case RepositoryProperties.TYPE_LMDB -> getLmdbStore();
+            case RepositoryProperties.TYPE_ALLEGRO -> getAgraphRepository(repositoryHttpClient);
+            case RepositoryProperties.TYPE_GRAPHDB -> getGraphDBRepository(repositoryHttpClient);
+            case RepositoryProperties.TYPE_BLAZEGRAPH ->
+                    getBlazeGraphRepository(repositoryHttpClient);
             default -> null;
         };
 
@@ -81,14 +83,26 @@ public class RepositoryConfig {
     private Repository getNativeStore() {
         log.info("Setting up Native Store");
         if (!repositoryProperties.getNativeRepo().getDir().isEmpty()) {
-            final File dataDir = new File(repositoryProperties.getNativeRepo().getDir());
-            return new SailRepository(new NativeStore(dataDir));
+            log.info("Native Store triple indexes: {}",
+                    repositoryProperties.getNativeRepo().getTripleIndexes());
+            return new SailRepository(
+                    LocalStoreFactory.createNativeStore(repositoryProperties.getNativeRepo()));
         }
         log.warn("'repository.native.dir' is empty");
         return null;
     }
 
-    private Repository getAgraphRepository() {
+    private Repository getLmdbStore() {
+        log.info("Setting up LMDB Store");
+        if (!repositoryProperties.getLmdb().getDir().isEmpty()) {
+            return new SailRepository(
+                    LocalStoreFactory.createLmdbStore(repositoryProperties.getLmdb()));
+        }
+        log.warn("'repository.lmdb.dir' is empty");
+        return null;
+    }
+
+    private Repository getAgraphRepository(HttpClient httpClient) {
         log.info("Setting up Allegro Graph Store");
         if (!repositoryProperties.getAgraph().getUrl().isEmpty()) {
             final SPARQLRepository repository =
@@ -100,13 +114,14 @@ public class RepositoryConfig {
                         repositoryProperties.getAgraph().getPassword()
                 );
             }
+            repository.setHttpClient(httpClient);
             return repository;
         }
         log.warn("'repository.agraph.url' is empty");
         return null;
     }
 
-    private Repository getBlazeGraphRepository() {
+    private Repository getBlazeGraphRepository(HttpClient httpClient) {
         log.info("Setting up Blaze Graph Store");
         String blazegraphUrl = repositoryProperties.getBlazegraph().getUrl();
         if (!blazegraphUrl.isEmpty()) {
@@ -122,35 +137,41 @@ public class RepositoryConfig {
                 urlBuilder.append("kb");
             }
             urlBuilder.append("/sparql");
-            return new SPARQLRepository(urlBuilder.toString());
+            final SPARQLRepository repository = new SPARQLRepository(urlBuilder.toString());
+            repository.setHttpClient(httpClient);
+            return repository;
         }
         log.warn("'repository.blazegraph.url' is empty");
         return null;
     }
 
-    private Repository getGraphDBRepository() {
+    private Repository getGraphDBRepository(HttpClient httpClient) {
         log.info("Setting up GraphDB Store");
         try {
             System.setProperty("org.eclipse.rdf4j.rio.binary.format_version", "1");
             if (!repositoryProperties.getGraphDb().getUrl().isEmpty()
                     && !repositoryProperties.getGraphDb().getRepository().isEmpty()) {
-                final RepositoryManager repositoryManager;
+                final RemoteRepositoryManager repositoryManager =
+                        new RemoteRepositoryManager(repositoryProperties.getGraphDb().getUrl());
                 if (!repositoryProperties.getGraphDb().getUsername().isEmpty()
                         && !repositoryProperties.getGraphDb().getPassword().isEmpty()) {
-                    repositoryManager = RemoteRepositoryManager.getInstance(
-                            repositoryProperties.getGraphDb().getUrl(),
+                    repositoryManager.setUsernameAndPassword(
                             repositoryProperties.getGraphDb().getUsername(),
                             repositoryProperties.getGraphDb().getPassword()
                     );
                 }
-                else {
-                    repositoryManager = RemoteRepositoryManager.getInstance(
-                            repositoryProperties.getGraphDb().getUrl()
-                    );
-                }
-                return repositoryManager.getRepository(
+                repositoryManager.setHttpClient(httpClient);
+                repositoryManager.init();
+                final Repository repository = repositoryManager.getRepository(
                         repositoryProperties.getGraphDb().getRepository()
                 );
+                if (repository instanceof HTTPRepository httpRepository
+                        && repositoryProperties.getHttp().isBinaryResults()) {
+                    httpRepository.setPreferredTupleQueryResultFormat(
+                            TupleQueryResultFormat.BINARY);
+                    httpRepository.setPreferredRDFFormat(RDFFormat.BINARY);
+                }
+                return repository;
             }
             log.warn("'repository.graphDb.url' or 'repository.graphDb.repository' is empty");
         }
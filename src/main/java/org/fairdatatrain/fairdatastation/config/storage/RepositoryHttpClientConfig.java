@@ -0,0 +1,87 @@
+/**
+ * The MIT License
+ * Copyright © 2022 FAIR Data Team
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.fairdatatrain.fairdatastation.config.storage;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.httpcomponents.*;
+import lombok.RequiredArgsConstructor;
+import org.apache.http.client.config.CookieSpecs;
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.DefaultConnectionKeepAliveStrategy;
+import org.apache.http.impl.client.HttpClientBuilder;
+import org.apache.http.impl.client.HttpClients;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.fairdatatrain.fairdatastation.config.properties.RepositoryHttpProperties;
+import org.fairdatatrain.fairdatastation.config.properties.RepositoryProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.TimeUnit;
+
+@Configuration
+@RequiredArgsConstructor
+public class RepositoryHttpClientConfig {
+
+    private static final String METRIC_POOL_NAME = "triple-store";
+
+    private final RepositoryProperties repositoryProperties;
+
+    // shared by remote stores, pool size limits concurrent requests to the store
+    @Bean(destroyMethod = "close")
+    public CloseableHttpClient repositoryHttpClient(MeterRegistry meterRegistry) {
+        final RepositoryHttpProperties http = repositoryProperties.getHttp();
+        final PoolingHttpClientConnectionManager connectionManager =
+                new PoolingHttpClientConnectionManager();
+        connectionManager.setMaxTotal(http.getMaxConnections());
+        connectionManager.setDefaultMaxPerRoute(http.getMaxConnections());
+        new PoolingHttpClientConnectionManagerMetricsBinder(connectionManager, METRIC_POOL_NAME)
+                .bindTo(meterRegistry);
+        final RequestConfig requestConfig = RequestConfig.custom()
+                .setCookieSpec(CookieSpecs.STANDARD)
+                .setConnectTimeout((int) http.getConnectTimeout().toMillis())
+                .setSocketTimeout((int) http.getSocketTimeout().toMillis())
+                .setConnectionRequestTimeout((int) http.getAcquireTimeout().toMillis())
+                .build();
+        final HttpClientBuilder builder = HttpClients.custom()
+                .useSystemProperties()
+                .setConnectionManager(connectionManager)
+                .setDefaultRequestConfig(requestConfig)
+                .setKeepAliveStrategy((response, httpContext) -> {
+                    final long keepAlive = DefaultConnectionKeepAliveStrategy.INSTANCE
+                            .getKeepAliveDuration(response, httpContext);
+                    return keepAlive > 0 ? keepAlive : http.getKeepAlive().toMillis();
+                })
+                .evictExpiredConnections()
+                .evictIdleConnections(http.getIdleTimeout().toMillis(), TimeUnit.MILLISECONDS)
+                .setRequestExecutor(MicrometerHttpRequestExecutor
+                        .builder(meterRegistry)
+                        .tags(Tags.of("store", repositoryProperties.getStringType()))
+                        .build());
+        if (!http.isCompression()) {
+            builder.disableContentCompression();
+        }
+        return builder.build();
+    }
+}
@@ -30,6 +30,7 @@ import lombok.NoArgsConstructor;
 import lombok.Setter;
 import lombok.experimental.SuperBuilder;
 import org.fairdatatrain.fairdatastation.data.model.base.BaseEntity;
+import org.fairdatatrain.fairdatastation.data.model.enums.JobStage;
 import org.fairdatatrain.fairdatastation.data.model.enums.JobStatus;
 
 import java.sql.Timestamp;
@@ -64,12 +65,38 @@ public class Job extends BaseEntity {
     @Column(name = "callback_event")
     private String callbackEvent;
 
+    @NotNull
+    @Column(name = "callback_event_batch", nullable = false)
+    private Boolean callbackEventBatch;
+
     @Column(name = "callback_artifact")
     private String callbackArtifact;
 
     @Column(name = "train_uri")
     private String trainUri;
 
+    @NotNull
+    @Column(name = "origin", nullable = false)
+    private String origin;
+
+    @NotNull
+    @Column(name = "priority", nullable = false)
+    private Integer priority;
+
+    @Column(name = "lease_owner")
+    private String leaseOwner;
+
+    @Column(name = "lease_expires_at")
+    private Timestamp leaseExpiresAt;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "stage", columnDefinition = "job_stage")
+    private JobStage stage;
+
+    @NotNull
+    @Column(name = "attempts", nullable = false)
+    private Integer attempts;
+
     @Column(name = "version", nullable = false)
     private Long version;
 
@@ -73,8 +73,9 @@ public class JobArtifact extends BaseEntity {
     @Column(name = "occurred_at", nullable = false)
     private Timestamp occurredAt;
 
-    @Column(name = "data", columnDefinition = "BLOB NOT NULL", nullable = false)
-    private byte[] data;
+    // location within the storage (not used for POSTGRES)
+    @Column(name = "location")
+    private String location;
 
     @NotNull
     @ManyToOne
@@ -22,10 +22,13 @@
  */
 package org.fairdatatrain.fairdatastation.data.repository.event;
 
+import org.fairdatatrain.fairdatastation.data.model.event.Job;
 import org.fairdatatrain.fairdatastation.data.model.event.JobArtifact;
 import org.fairdatatrain.fairdatastation.data.repository.base.BaseRepository;
 import org.springframework.stereotype.Repository;
 
 @Repository
 public interface JobArtifactRepository extends BaseRepository<JobArtifact> {
+
+    boolean existsByJobAndFilename(Job job, String filename);
 }
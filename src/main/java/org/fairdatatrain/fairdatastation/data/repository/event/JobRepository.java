@@ -22,14 +22,129 @@
  */
 package org.fairdatatrain.fairdatastation.data.repository.event;
 
+import org.fairdatatrain.fairdatastation.data.model.enums.JobStage;
+import org.fairdatatrain.fairdatastation.data.model.enums.JobStatus;
 import org.fairdatatrain.fairdatastation.data.model.event.Job;
 import org.fairdatatrain.fairdatastation.data.repository.base.BaseRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.sql.Timestamp;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.UUID;
 
 @Repository
 public interface JobRepository extends BaseRepository<Job> {
 
-    Optional<Job> findFirstByFinishedAtIsNullOrderByCreatedAtAsc();
+    @Query(value = """
+        SELECT DISTINCT ON (origin) * FROM job
+        WHERE status = 'QUEUED'
+            OR (status IN ('RUNNING', 'ABORTING')
+                AND (lease_expires_at IS NULL OR lease_expires_at < :ts))
+        ORDER BY origin, priority DESC, created_at ASC
+        """,
+            nativeQuery = true
+    )
+    List<Job> findNextJobPerOrigin(@Param("ts") Timestamp timestamp);
+
+    @Query(value = """
+        SELECT origin AS origin, COUNT(*) AS count FROM job
+        WHERE status IN ('RUNNING', 'ABORTING') AND lease_expires_at >= :ts
+        GROUP BY origin
+        """,
+            nativeQuery = true
+    )
+    List<OriginCount> countRunningByOrigin(@Param("ts") Timestamp timestamp);
+
+    @Query(value = """
+        SELECT * FROM job
+        WHERE uuid = :uuid AND (status = 'QUEUED'
+            OR (status IN ('RUNNING', 'ABORTING')
+                AND (lease_expires_at IS NULL OR lease_expires_at < :ts)))
+        FOR UPDATE SKIP LOCKED
+        """,
+            nativeQuery = true
+    )
+    Optional<Job> lockJob(@Param("uuid") UUID uuid, @Param("ts") Timestamp timestamp);
+
+    @Query(value = "SELECT * FROM job WHERE uuid = :uuid FOR UPDATE", nativeQuery = true)
+    Optional<Job> lockJobForUpdate(@Param("uuid") UUID uuid);
+
+    @Query("SELECT j.status FROM Job j WHERE j.uuid = :uuid")
+    Optional<JobStatus> findStatus(@Param("uuid") UUID uuid);
+
+    @Query(value = """
+        SELECT uuid FROM job
+        WHERE lease_owner = :owner AND status = 'ABORTING'
+        """,
+            nativeQuery = true
+    )
+    List<UUID> findAbortingJobs(@Param("owner") String owner);
+
+    @Modifying
+    @Query(value = """
+        UPDATE job SET lease_expires_at = :expiresAt
+        WHERE lease_owner = :owner AND uuid IN (:uuids) AND status IN ('RUNNING', 'ABORTING')
+        """,
+            nativeQuery = true
+    )
+    int renewLeases(
+            @Param("owner") String owner, @Param("uuids") Collection<UUID> uuids,
+            @Param("expiresAt") Timestamp expiresAt
+    );
+
+    // workers hold detached jobs, so only the changed columns are written (not the lease)
+    @Modifying
+    @Query("UPDATE Job j SET j.stage = :stage, j.updatedAt = :ts WHERE j.uuid = :uuid")
+    int updateStage(
+            @Param("uuid") UUID uuid, @Param("stage") JobStage stage,
+            @Param("ts") Timestamp timestamp
+    );
+
+    @Modifying
+    @Query("UPDATE Job j SET j.status = :status, j.updatedAt = :ts WHERE j.uuid = :uuid")
+    int updateStatus(
+            @Param("uuid") UUID uuid, @Param("status") JobStatus status,
+            @Param("ts") Timestamp timestamp
+    );
+
+    @Modifying
+    @Query("""
+        UPDATE Job j
+        SET j.status = :status, j.finishedAt = :ts, j.leaseExpiresAt = NULL, j.updatedAt = :ts
+        WHERE j.uuid = :uuid
+        """)
+    int finishJob(
+            @Param("uuid") UUID uuid, @Param("status") JobStatus status,
+            @Param("ts") Timestamp timestamp
+    );
+
+    @Modifying
+    @Query("""
+        UPDATE Job j
+        SET j.status = org.fairdatatrain.fairdatastation.data.model.enums.JobStatus.QUEUED,
+            j.priority = :priority, j.attempts = :attempts, j.startedAt = NULL,
+            j.leaseOwner = NULL, j.leaseExpiresAt = NULL, j.updatedAt = :ts
+        WHERE j.uuid = :uuid
+            AND j.status = org.fairdatatrain.fairdatastation.data.model.enums.JobStatus.RUNNING
+        """)
+    int requeueJob(
+            @Param("uuid") UUID uuid, @Param("priority") Integer priority,
+            @Param("attempts") Integer attempts, @Param("ts") Timestamp timestamp
+    );
+
+    @Modifying
+    @Query(value = "NOTIFY job_queue", nativeQuery = true)
+    void notifyQueue();
+
+    interface OriginCount {
+
+        String getOrigin();
+
+        Long getCount();
+    }
 }
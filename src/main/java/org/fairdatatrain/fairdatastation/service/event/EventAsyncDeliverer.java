@@ -24,13 +24,21 @@ package org.fairdatatrain.fairdatastation.service.event;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.fairdatatrain.fairdatastation.data.model.event.EventDelivery;
+import org.fairdatatrain.fairdatastation.config.properties.EventProperties;
 import org.fairdatatrain.fairdatastation.service.event.delivery.EventDeliverer;
+import org.fairdatatrain.fairdatastation.service.event.delivery.EventDeliveryTask;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import reactor.core.publisher.Flux;
+import reactor.core.scheduler.Schedulers;
 
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 
 @Slf4j
 @Service
@@ -39,25 +47,52 @@ public class EventAsyncDeliverer {
 
     private final EventDeliverer eventDeliverer;
 
-    @Transactional
+    private final EventProperties eventProperties;
+
+    private final Set<UUID> inFlight = ConcurrentHashMap.newKeySet();
+
+    private final Set<String> busyHosts = ConcurrentHashMap.newKeySet();
+
     @Scheduled(
             initialDelayString = "${dispatcher.dispatch.initDelay:PT10S}",
             fixedRateString = "${dispatcher.dispatch.interval:PT30S}"
     )
     public void processJobs() {
-        final List<EventDelivery> eventDeliveryList =
-                eventDeliverer.getNextEventDeliveries();
-        log.info("Delivering {} items in this iteration", eventDeliveryList.size());
-        eventDeliveryList.forEach(this::deliver);
+        final List<EventDeliveryTask> tasks =
+                eventDeliverer.prepareDeliveryTasks(inFlight, busyHosts);
+        final Map<String, List<EventDeliveryTask>> tasksPerHost = new LinkedHashMap<>();
+        tasks.forEach(task -> {
+            tasksPerHost.computeIfAbsent(task.getHost(), host -> new ArrayList<>()).add(task);
+        });
+        // slow host occupies only its own slots, others are drained meanwhile
+        final int hostConcurrency = Math.max(1, eventProperties.getDeliveryHostConcurrency());
+        final int hosts = Math.max(1, eventProperties.getDeliveryConcurrency() / hostConcurrency);
+        int started = 0;
+        for (Map.Entry<String, List<EventDeliveryTask>> entry : tasksPerHost.entrySet()) {
+            if (busyHosts.size() >= hosts) {
+                log.debug("All delivery slots are busy, remaining hosts wait for next iteration");
+                break;
+            }
+            drainHost(entry.getKey(), entry.getValue(), hostConcurrency);
+            started += entry.getValue().size();
+        }
+        log.info("Delivering {} items in this iteration", started);
     }
 
-    protected void deliver(EventDelivery eventDelivery) {
-        log.info("Delivering event delivery {}", eventDelivery.getUuid());
-        if (eventDelivery.getJobEvent() != null) {
-            eventDeliverer.deliver(eventDelivery.getJobEvent(), eventDelivery);
-        }
-        else if (eventDelivery.getJobArtifact() != null) {
-            eventDeliverer.deliver(eventDelivery.getJobArtifact(), eventDelivery);
-        }
+    private void drainHost(String host, List<EventDeliveryTask> hostTasks, int hostConcurrency) {
+        // scheduler thread does not wait, next poll skips what is still in flight
+        busyHosts.add(host);
+        hostTasks.forEach(task -> inFlight.addAll(task.getDeliveryUuids()));
+        Flux.fromIterable(hostTasks)
+                .flatMap(task -> {
+                    return eventDeliverer
+                            .deliver(task)
+                            .doFinally(signal -> task.getDeliveryUuids().forEach(inFlight::remove));
+                }, hostConcurrency)
+                .doFinally(signal -> busyHosts.remove(host))
+                .subscribeOn(Schedulers.boundedElastic())
+                .subscribe(null, exception -> {
+                    log.error("Failed to deliver events to " + host, exception);
+                });
     }
 }
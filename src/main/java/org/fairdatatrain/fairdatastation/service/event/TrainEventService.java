@@ -24,15 +24,21 @@ package org.fairdatatrain.fairdatastation.service.event;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.fairdatatrain.fairdatastation.api.dto.event.job.JobDTO;
 import org.fairdatatrain.fairdatastation.api.dto.event.train.TrainDispatchPayloadDTO;
 import org.fairdatatrain.fairdatastation.api.dto.event.train.TrainDispatchResponseDTO;
 import org.fairdatatrain.fairdatastation.data.model.enums.JobStatus;
 import org.fairdatatrain.fairdatastation.data.model.event.Job;
+import org.fairdatatrain.fairdatastation.exception.NotFoundException;
 import org.fairdatatrain.fairdatastation.service.event.job.JobService;
+import org.fairdatatrain.fairdatastation.service.event.job.event.JobEventService;
+import org.fairdatatrain.fairdatastation.service.storage.query.QueryGuardRegistry;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.UUID;
+
 @Slf4j
 @Service
 @RequiredArgsConstructor
@@ -40,10 +46,15 @@ public class TrainEventService {
 
     private final JobService jobService;
 
+    private final JobEventService jobEventService;
+
+    private final QueryGuardRegistry queryGuardRegistry;
+
     @Transactional(propagation = Propagation.REQUIRED)
     public TrainDispatchResponseDTO acceptTrain(TrainDispatchPayloadDTO reqDto) {
         // TODO: validate before creating a job
         final Job job = jobService.createJobForTrain(reqDto);
+        jobService.notifyQueued();
         return TrainDispatchResponseDTO
                 .builder()
                 .id(job.getUuid().toString())
@@ -51,4 +62,23 @@ public class TrainEventService {
                 .status(JobStatus.QUEUED)
                 .build();
     }
+
+    @Transactional(propagation = Propagation.REQUIRED)
+    public JobDTO cancelJob(UUID jobUuid) throws NotFoundException {
+        final Job job = jobService.lockByIdOrThrow(jobUuid);
+        switch (job.getStatus()) {
+            case PREPARED, QUEUED -> {
+                jobEventService.createEvent(job, "Cancelled before processing", JobStatus.ABORTED);
+                jobService.updateStatus(job, JobStatus.ABORTED);
+            }
+            case RUNNING -> {
+                jobEventService.createEvent(job, "Cancellation requested", JobStatus.ABORTING);
+                jobService.updateStatus(job, JobStatus.ABORTING);
+                // other instances cancel their queries with the next lease renewal
+                queryGuardRegistry.cancel(jobUuid);
+            }
+            default -> log.info("Job {} not cancelled (status {})", jobUuid, job.getStatus());
+        }
+        return jobService.getJob(jobUuid);
+    }
 }
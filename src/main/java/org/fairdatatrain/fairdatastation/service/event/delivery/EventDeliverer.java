@@ -24,24 +24,36 @@ package org.fairdatatrain.fairdatastation.service.event.delivery;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.fairdatatrain.fairdatastation.api.dto.event.job.artifact.JobArtifactDispatchDTO;
 import org.fairdatatrain.fairdatastation.api.dto.event.job.event.JobEventDispatchDTO;
+import org.fairdatatrain.fairdatastation.config.properties.EventProperties;
 import org.fairdatatrain.fairdatastation.data.model.event.EventDelivery;
 import org.fairdatatrain.fairdatastation.data.model.event.JobArtifact;
 import org.fairdatatrain.fairdatastation.data.model.event.JobEvent;
+import org.fairdatatrain.fairdatastation.service.event.delivery.HostCircuitBreaker.Permission;
 import org.fairdatatrain.fairdatastation.service.event.job.artifact.JobArtifactService;
+import org.fairdatatrain.fairdatastation.service.event.job.artifact.JobArtifactStreamer;
 import org.fairdatatrain.fairdatastation.service.event.job.event.JobEventService;
 import org.springframework.http.MediaType;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.reactive.function.BodyInserters;
 import org.springframework.web.reactive.function.client.WebClient;
-import org.springframework.web.reactive.function.client.WebClientException;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
 
 import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
 
-import static java.lang.String.format;
+import static java.util.Optional.ofNullable;
+import static org.fairdatatrain.fairdatastation.utils.HttpUtils.getHost;
 import static org.fairdatatrain.fairdatastation.utils.TimeUtils.now;
 
 @Slf4j
@@ -55,63 +67,217 @@ public class EventDeliverer {
 
     private final JobEventService jobEventService;
 
+    private final JobArtifactStreamer jobArtifactStreamer;
+
+    private final EventProperties eventProperties;
+
+    private final HostCircuitBreaker hostCircuitBreaker;
+
     private final WebClient webClient;
 
-    @Transactional(propagation = Propagation.REQUIRES_NEW)
-    public void deliver(JobArtifact jobArtifact, EventDelivery eventDelivery) {
-        log.debug("Delivering job artifact {}", jobArtifact.getUuid());
-        final JobArtifactDispatchDTO dto = jobArtifactService
-                .getMapper()
-                .toDispatchDTO(jobArtifact);
-        deliver(eventDelivery, jobArtifact.getJob().getCallbackArtifact(), dto);
+    @Transactional(readOnly = true)
+    public List<EventDeliveryTask> prepareDeliveryTasks(Set<UUID> inFlight,
+                                                        Set<String> busyHosts) {
+        final List<EventDelivery> eventDeliveryList =
+                eventDeliveryService.getNextEventDeliveries();
+        log.info("Preparing {} event deliveries in this iteration", eventDeliveryList.size());
+        final List<EventDeliveryTask> tasks = new ArrayList<>();
+        final Map<String, List<EventDelivery>> batches = new LinkedHashMap<>();
+        final Map<String, Permission> permissions = new HashMap<>();
+        final Set<UUID> probes = new HashSet<>();
+        for (EventDelivery eventDelivery : eventDeliveryList) {
+            final JobEvent jobEvent = eventDelivery.getJobEvent();
+            final JobArtifact jobArtifact = eventDelivery.getJobArtifact();
+            // still being dispatched from previous iteration
+            if (inFlight.contains(eventDelivery.getUuid())
+                    || busyHosts.contains(getCallbackHost(eventDelivery))) {
+                continue;
+            }
+            if (!isPermitted(eventDelivery, permissions, probes)) {
+                continue;
+            }
+            if (jobEvent != null && isBatched(jobEvent)) {
+                batches
+                        .computeIfAbsent(jobEvent.getJob().getCallbackEvent(),
+                                uri -> new ArrayList<>())
+                        .add(eventDelivery);
+            }
+            else if (jobEvent != null) {
+                tasks.add(prepareTask(
+                        jobEvent.getJob().getCallbackEvent(),
+                        jobEventService.getMapper().toDispatchDTO(jobEvent),
+                        List.of(eventDelivery)));
+            }
+            else if (jobArtifact != null) {
+                tasks.add(prepareArtifactTask(jobArtifact, eventDelivery));
+            }
+        }
+        batches.forEach((uri, eventDeliveries) -> {
+            prepareBatchTasks(uri, eventDeliveries, tasks);
+        });
+        tasks.forEach(task -> {
+            task.setProbe(task.getDeliveryUuids().stream().anyMatch(probes::contains));
+        });
+        return tasks;
+    }
+
+    public Mono<Void> deliver(EventDeliveryTask task) {
+        return Mono.defer(() -> dispatch(task, now()));
+    }
+
+    private Mono<Void> dispatch(EventDeliveryTask task, Timestamp dispatchedAt) {
+        // circuit may have opened since the task was prepared
+        final Instant openUntil = task.isProbe()
+                ? null
+                : hostCircuitBreaker.getOpenUntil(task.getHost());
+        if (openUntil != null) {
+            return defer(task, openUntil);
+        }
+        log.debug("Dispatching {} deliveries to {}",
+                task.getDeliveryUuids().size(), task.getUri());
+        WebClient.RequestBodySpec request = webClient
+                .post()
+                .uri(task.getUri())
+                .contentType(MediaType.APPLICATION_JSON);
+        if (task.getContentLength() != null) {
+            request = request.contentLength(task.getContentLength());
+        }
+        return request
+                .body(task.getBody())
+                .retrieve()
+                .toBodilessEntity()
+                .timeout(task.getTimeout())
+                .thenReturn(true)
+                .onErrorResume(exception -> {
+                    log.debug("Exception while dispatching to " + task.getUri(), exception);
+                    log.warn("Failed to dispatch to {}: {}", task.getUri(), exception.getMessage());
+                    return Mono.just(false);
+                })
+                .doOnNext(success -> {
+                    if (success) {
+                        hostCircuitBreaker.onSuccess(task.getHost());
+                    }
+                    else {
+                        hostCircuitBreaker.onFailure(task.getHost());
+                    }
+                })
+                .flatMap(success -> {
+                    return Mono
+                            .fromRunnable(() -> storeResult(task, success, dispatchedAt))
+                            .subscribeOn(Schedulers.boundedElastic());
+                })
+                .onErrorResume(exception -> {
+                    log.error("Failed to store result of event delivery", exception);
+                    return Mono.empty();
+                })
+                .then();
     }
 
-    @Transactional(propagation = Propagation.REQUIRES_NEW)
-    public void deliver(JobEvent jobEvent, EventDelivery eventDelivery) {
-        log.debug("Delivering job event {}", jobEvent.getUuid());
-        final JobEventDispatchDTO dto = jobEventService
-                .getMapper()
-                .toDispatchDTO(jobEvent);
-        deliver(eventDelivery, jobEvent.getJob().getCallbackEvent(), dto);
+    private Mono<Void> defer(EventDeliveryTask task, Instant openUntil) {
+        log.debug("Deferring {} deliveries to {} until {}",
+                task.getDeliveryUuids().size(), task.getUri(), openUntil);
+        return Mono
+                .fromRunnable(() -> {
+                    eventDeliveryService.recordDeferred(
+                            task.getDeliveryUuids(), Timestamp.from(openUntil));
+                })
+                .subscribeOn(Schedulers.boundedElastic())
+                .onErrorResume(exception -> {
+                    log.error("Failed to defer event delivery", exception);
+                    return Mono.empty();
+                })
+                .then();
     }
 
-    protected void deliver(EventDelivery eventDelivery, String uri, Object payload) {
-        final Timestamp dispatchedAt = now();
-        try {
-            dispatch(uri, payload);
-            eventDeliveryService.updateSuccess(eventDelivery, dispatchedAt);
+    private void storeResult(EventDeliveryTask task, boolean success, Timestamp dispatchedAt) {
+        if (success) {
+            eventDeliveryService.recordSuccess(task.getDeliveryUuids(), dispatchedAt);
         }
-        catch (Exception exception) {
-            log.debug("Exception while dispatching artifact", exception);
-            log.warn("Failed to dispatch artifact: {}", exception.getMessage());
-            eventDeliveryService.updateFailed(eventDelivery, dispatchedAt);
-            eventDeliveryService.createNextDelivery(eventDelivery);
+        else {
+            eventDeliveryService.recordFailure(task.getDeliveryUuids(), dispatchedAt);
         }
     }
 
-    private void dispatch(String uri, Object payload) {
-        log.debug("Dispatching payload to {}", uri);
-        try {
-            webClient
-                    .post()
-                    .uri(uri)
-                    .contentType(MediaType.APPLICATION_JSON)
-                    .bodyValue(payload)
-                    .retrieve()
-                    .bodyToMono(String.class)
-                    .block();
+    private void prepareBatchTasks(String uri, List<EventDelivery> eventDeliveries,
+                                   List<EventDeliveryTask> tasks) {
+        final int batchSize = Math.max(1, eventProperties.getBatchSize());
+        for (int from = 0; from < eventDeliveries.size(); from += batchSize) {
+            final List<EventDelivery> batch = eventDeliveries.subList(
+                    from, Math.min(from + batchSize, eventDeliveries.size()));
+            if (batch.size() < batchSize && isLingering(batch)) {
+                log.debug("Postponing batch of {} events for {}", batch.size(), uri);
+                continue;
+            }
+            final List<JobEventDispatchDTO> dtos = batch
+                    .stream()
+                    .map(EventDelivery::getJobEvent)
+                    .map(jobEventService.getMapper()::toDispatchDTO)
+                    .toList();
+            tasks.add(prepareTask(uri, dtos, batch));
         }
-        catch (WebClientException exception) {
-            log.warn(format(
-                    "Dispatching event failed: %s", exception.getMessage()
-            ));
-            throw new RuntimeException(
-                    "Station responded with status: " + exception.getMessage()
-            );
+    }
+
+    private boolean isPermitted(EventDelivery eventDelivery, Map<String, Permission> permissions,
+                                Set<UUID> probes) {
+        final String host = getCallbackHost(eventDelivery);
+        final Permission permission = permissions.computeIfAbsent(host, hostCircuitBreaker::check);
+        if (permission == Permission.PROBE) {
+            // only single delivery probes the host
+            permissions.put(host, Permission.DENY);
+            probes.add(eventDelivery.getUuid());
         }
+        return permission != Permission.DENY;
+    }
+
+    private String getCallbackHost(EventDelivery eventDelivery) {
+        final String uri = eventDelivery.getJobEvent() != null
+                ? eventDelivery.getJobEvent().getJob().getCallbackEvent()
+                : eventDelivery.getJobArtifact().getJob().getCallbackArtifact();
+        return ofNullable(getHost(uri)).orElse("");
+    }
+
+    private EventDeliveryTask prepareTask(String uri, Object payload,
+                                          List<EventDelivery> eventDeliveries) {
+        return EventDeliveryTask
+                .builder()
+                .uri(uri)
+                .host(getCallbackHost(eventDeliveries.get(0)))
+                .body(BodyInserters.fromValue(payload))
+                .timeout(eventProperties.getDeliveryTimeout())
+                .deliveryUuids(eventDeliveries.stream().map(EventDelivery::getUuid).toList())
+                .build();
+    }
+
+    private EventDeliveryTask prepareArtifactTask(JobArtifact jobArtifact,
+                                                  EventDelivery eventDelivery) {
+        // artifact data are streamed as base64 in chunks, never encoded as a whole
+        final byte[] envelope = jobArtifactStreamer.prepareEnvelope(
+                jobArtifactService.getMapper().toDispatchDTO(jobArtifact));
+        final long contentLength = jobArtifactStreamer.computeContentLength(
+                envelope, jobArtifact.getBytesize());
+        return EventDeliveryTask
+                .builder()
+                .uri(jobArtifact.getJob().getCallbackArtifact())
+                .host(getCallbackHost(eventDelivery))
+                .body(BodyInserters.fromDataBuffers(jobArtifactStreamer.stream(
+                        envelope, () -> jobArtifactService.openArtifactData(jobArtifact))))
+                .contentLength(contentLength)
+                .timeout(eventProperties.computeArtifactDeliveryTimeout(contentLength))
+                .deliveryUuids(List.of(eventDelivery.getUuid()))
+                .build();
+    }
+
+    private boolean isBatched(JobEvent jobEvent) {
+        return Boolean.TRUE.equals(jobEvent.getJob().getCallbackEventBatch());
     }
 
-    public List<EventDelivery> getNextEventDeliveries() {
-        return eventDeliveryService.getNextEventDeliveries();
+    private boolean isLingering(List<EventDelivery> batch) {
+        // incomplete batch waits for more events unless it is old or contains status change
+        final Timestamp threshold = Timestamp.from(
+                now().toInstant().minus(eventProperties.getBatchLinger()));
+        return batch.stream().noneMatch(eventDelivery -> {
+            return eventDelivery.getDispatchAt().before(threshold)
+                    || eventDelivery.getJobEvent().getResultStatus() != null;
+        });
     }
 }
@@ -29,12 +29,16 @@ import org.fairdatatrain.fairdatastation.data.model.event.JobArtifact;
 import org.fairdatatrain.fairdatastation.data.model.event.JobEvent;
 import org.fairdatatrain.fairdatastation.data.repository.event.EventDeliveryRepository;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.sql.Timestamp;
 import java.time.Duration;
 import java.time.Instant;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
 
 import static org.fairdatatrain.fairdatastation.utils.TimeUtils.now;
 
@@ -45,16 +49,20 @@ public class EventDeliveryService {
 
     private static final int MAX_RETRIES = 5;
 
+    private static final double BACKOFF_JITTER = 0.2;
+
     private final EventDeliveryRepository eventDeliveryRepository;
 
-    public void createInitialDelivery(JobEvent jobEvent) {
-        final EventDelivery eventDelivery = eventDeliveryRepository.saveAndFlush(
-                prepareInitialDelivery()
+    public void createInitialDeliveries(List<JobEvent> jobEvents) {
+        final List<EventDelivery> eventDeliveries = new ArrayList<>(jobEvents.size());
+        for (JobEvent jobEvent : jobEvents) {
+            eventDeliveries.add(prepareInitialDelivery()
                     .toBuilder()
                     .jobEvent(jobEvent)
                     .build());
-        log.info("Created initial event delivery {} for job event {}",
-                eventDelivery.getUuid(), jobEvent.getUuid());
+        }
+        eventDeliveryRepository.saveAll(eventDeliveries);
+        log.debug("Created {} initial event deliveries", eventDeliveries.size());
     }
 
     public void createInitialDelivery(JobArtifact jobArtifact) {
@@ -87,6 +95,33 @@ public class EventDeliveryService {
         eventDeliveryRepository.saveAndFlush(updatedDelivery);
     }
 
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void recordSuccess(List<UUID> eventDeliveryUuids, Timestamp dispatchedAt) {
+        eventDeliveryRepository.findAllById(eventDeliveryUuids).forEach(eventDelivery -> {
+            updateSuccess(eventDelivery, dispatchedAt);
+        });
+    }
+
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void recordFailure(List<UUID> eventDeliveryUuids, Timestamp dispatchedAt) {
+        eventDeliveryRepository.findAllById(eventDeliveryUuids).forEach(eventDelivery -> {
+            updateFailed(eventDelivery, dispatchedAt);
+            createNextDelivery(eventDelivery);
+        });
+    }
+
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void recordDeferred(List<UUID> eventDeliveryUuids, Timestamp dispatchAt) {
+        // not dispatched at all, so it does not count as retry
+        eventDeliveryRepository.findAllById(eventDeliveryUuids).forEach(eventDelivery -> {
+            eventDeliveryRepository.saveAndFlush(eventDelivery
+                    .toBuilder()
+                    .dispatchAt(dispatchAt)
+                    .updatedAt(now())
+                    .build());
+        });
+    }
+
     public void createNextDelivery(EventDelivery eventDelivery) {
         final Timestamp now = now();
         final int retry = eventDelivery.getRetryNumber() + 1;
@@ -95,11 +130,13 @@ public class EventDeliveryService {
                     eventDelivery.getUuid());
             return;
         }
-        final long minutesNext = (long) Math.pow(2, retry);
-        final Instant nextAt = Instant.now().plus(Duration.ofMinutes(minutesNext));
+        // jitter spreads retries of deliveries that failed together
+        final long backoff = Duration.ofMinutes((long) Math.pow(2, retry)).toMillis();
+        final double jitter = ThreadLocalRandom.current()
+                .nextDouble(-BACKOFF_JITTER, BACKOFF_JITTER);
+        final Instant nextAt = Instant.now().plusMillis(backoff + (long) (backoff * jitter));
         final EventDelivery nextDelivery = EventDelivery
                 .builder()
-                .uuid(UUID.randomUUID())
                 .retryNumber(retry)
                 .priority(0)
                 .delivered(false)
@@ -118,7 +155,6 @@ public class EventDeliveryService {
         final Timestamp now = now();
         return EventDelivery
                 .builder()
-                .uuid(UUID.randomUUID())
                 .retryNumber(0)
                 .priority(0)
                 .delivered(false)
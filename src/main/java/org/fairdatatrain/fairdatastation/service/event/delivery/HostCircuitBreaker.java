@@ -0,0 +1,120 @@
+/**
+ * The MIT License
+ * Copyright © 2022 FAIR Data Team
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.fairdatatrain.fairdatastation.service.event.delivery;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.fairdatatrain.fairdatastation.config.properties.EventProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class HostCircuitBreaker {
+
+    public enum Permission {
+        ALLOW,
+        PROBE,
+        DENY
+    }
+
+    private final EventProperties eventProperties;
+
+    private final Map<String, HostState> hosts = new HashMap<>();
+
+    public synchronized Permission check(String host) {
+        final HostState state = hosts.get(host);
+        if (state == null || state.getOpenDuration() == null) {
+            return Permission.ALLOW;
+        }
+        final Instant now = Instant.now();
+        if (now.isBefore(state.getRetryAt())) {
+            return Permission.DENY;
+        }
+        // half-open, single probe until it succeeds or fails (or gets lost)
+        hosts.put(host, new HostState(state.getFailures(), state.getOpenDuration(),
+                now.plus(state.getOpenDuration()), true));
+        return Permission.PROBE;
+    }
+
+    public synchronized Instant getOpenUntil(String host) {
+        // non-mutating, null if circuit is closed
+        final HostState state = hosts.get(host);
+        if (state == null || state.getOpenDuration() == null) {
+            return null;
+        }
+        return state.getRetryAt();
+    }
+
+    public synchronized void onSuccess(String host) {
+        final HostState state = hosts.remove(host);
+        if (state != null && state.getOpenDuration() != null) {
+            log.info("Callback host {} is reachable again", host);
+        }
+    }
+
+    public synchronized void onFailure(String host) {
+        final HostState state = hosts.get(host);
+        final int failures = state == null ? 1 : state.getFailures() + 1;
+        Duration openDuration = null;
+        if (state != null && state.getOpenDuration() != null && !state.isProbing()) {
+            // failure of request sent before the circuit opened
+            return;
+        }
+        if (state != null && state.getOpenDuration() != null) {
+            openDuration = state.getOpenDuration().multipliedBy(2);
+            if (openDuration.compareTo(eventProperties.getCircuitMaxOpenDuration()) > 0) {
+                openDuration = eventProperties.getCircuitMaxOpenDuration();
+            }
+            log.warn("Callback host {} still failing, deferring for {}", host, openDuration);
+        }
+        else if (failures >= eventProperties.getCircuitFailureThreshold()) {
+            openDuration = eventProperties.getCircuitOpenDuration();
+            log.warn("Callback host {} failed {} times, deferring for {}",
+                    host, failures, openDuration);
+        }
+        final Instant retryAt = openDuration == null ? null : Instant.now().plus(openDuration);
+        hosts.put(host, new HostState(failures, openDuration, retryAt, false));
+    }
+
+    @Getter
+    @AllArgsConstructor
+    private static class HostState {
+
+        private final int failures;
+
+        // null if circuit is closed
+        private final Duration openDuration;
+
+        private final Instant retryAt;
+
+        private final boolean probing;
+    }
+}
@@ -26,6 +26,7 @@ import lombok.RequiredArgsConstructor;
 import org.fairdatatrain.fairdatastation.api.dto.event.job.JobDTO;
 import org.fairdatatrain.fairdatastation.api.dto.event.job.JobSimpleDTO;
 import org.fairdatatrain.fairdatastation.api.dto.event.train.TrainDispatchPayloadDTO;
+import org.fairdatatrain.fairdatastation.data.model.enums.JobStage;
 import org.fairdatatrain.fairdatastation.data.model.enums.JobStatus;
 import org.fairdatatrain.fairdatastation.data.model.event.Job;
 import org.fairdatatrain.fairdatastation.service.event.job.artifact.JobArtifactMapper;
@@ -35,6 +36,8 @@ import org.springframework.stereotype.Component;
 import java.sql.Timestamp;
 import java.util.Optional;
 
+import static java.util.Optional.ofNullable;
+import static org.fairdatatrain.fairdatastation.utils.HttpUtils.getHost;
 import static org.fairdatatrain.fairdatastation.utils.TimeUtils.now;
 
 @Component
@@ -117,22 +120,53 @@ public class JobMapper {
                 .startedAt(null)
                 .finishedAt(null)
                 .callbackEvent(reqDto.getCallbackEventLocation())
+                .callbackEventBatch(Boolean.TRUE.equals(reqDto.getCallbackEventBatch()))
                 .callbackArtifact(reqDto.getCallbackArtifactLocation())
                 .trainUri(reqDto.getTrainUri())
+                .origin(ofNullable(getHost(reqDto.getCallbackEventLocation())).orElse(""))
+                .priority(ofNullable(reqDto.getPriority()).orElse(0))
+                .attempts(0)
                 .version(0L)
                 .createdAt(now)
                 .updatedAt(now)
                 .build();
     }
 
+    public Job claim(Job job, String owner, Timestamp leaseExpiresAt) {
+        final Timestamp now = now();
+        job.setStatus(JobStatus.RUNNING);
+        job.setStartedAt(now);
+        job.setUpdatedAt(now);
+        job.setLeaseOwner(owner);
+        job.setLeaseExpiresAt(leaseExpiresAt);
+        job.setAttempts(job.getAttempts() + 1);
+        return job;
+    }
+
+    public Job updateStage(Job job, JobStage stage) {
+        job.setStage(stage);
+        job.setUpdatedAt(now());
+        return job;
+    }
+
     public Job updateStatus(Job job, JobStatus status) {
         final Timestamp now = now();
         job.setStatus(status);
         job.setUpdatedAt(now);
-        if (status.equals(JobStatus.FAILED) || status.equals(JobStatus.FINISHED)) {
-            // TODO: list "terminal" states
+        if (status.equals(JobStatus.QUEUED)) {
+            job.setStartedAt(null);
+            job.setLeaseOwner(null);
+            job.setLeaseExpiresAt(null);
+        }
+        if (isTerminal(status)) {
             job.setFinishedAt(now);
+            job.setLeaseExpiresAt(null);
         }
         return job;
     }
+
+    public boolean isTerminal(JobStatus status) {
+        return status.equals(JobStatus.FAILED) || status.equals(JobStatus.FINISHED)
+                || status.equals(JobStatus.ABORTED);
+    }
 }
@@ -0,0 +1,83 @@
+/**
+ * The MIT License
+ * Copyright © 2022 FAIR Data Team
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.fairdatatrain.fairdatastation.service.event.job;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.fairdatatrain.fairdatastation.config.properties.JobOriginProperties;
+import org.fairdatatrain.fairdatastation.config.properties.JobProperties;
+import org.fairdatatrain.fairdatastation.data.model.event.Job;
+import org.fairdatatrain.fairdatastation.data.repository.event.JobRepository;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class JobScheduler {
+
+    private final JobRepository jobRepository;
+
+    private final JobProperties jobProperties;
+
+    // first queued job of each origin, origins with fewer running jobs (weighted) go first
+    public List<UUID> getCandidates(Timestamp now) {
+        final Map<String, Long> running = jobRepository
+                .countRunningByOrigin(now)
+                .stream()
+                .collect(Collectors.toMap(
+                        JobRepository.OriginCount::getOrigin,
+                        JobRepository.OriginCount::getCount
+                ));
+        return jobRepository
+                .findNextJobPerOrigin(now)
+                .stream()
+                .filter(job -> hasCapacity(job.getOrigin(), running))
+                .sorted(Comparator
+                        .comparingDouble((Job job) -> share(job.getOrigin(), running))
+                        .thenComparing(Job::getPriority, Comparator.reverseOrder())
+                        .thenComparing(Job::getCreatedAt))
+                .map(Job::getUuid)
+                .toList();
+    }
+
+    private boolean hasCapacity(String origin, Map<String, Long> running) {
+        final int limit = getOrigin(origin).getConcurrency();
+        return limit <= 0 || running.getOrDefault(origin, 0L) < limit;
+    }
+
+    private double share(String origin, Map<String, Long> running) {
+        final int weight = Math.max(1, getOrigin(origin).getWeight());
+        return (double) running.getOrDefault(origin, 0L) / weight;
+    }
+
+    private JobOriginProperties getOrigin(String origin) {
+        return jobProperties.getOrigins().getOrDefault(origin, jobProperties.getOriginDefaults());
+    }
+}
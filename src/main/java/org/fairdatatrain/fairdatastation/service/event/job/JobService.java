@@ -27,6 +27,8 @@ import lombok.extern.slf4j.Slf4j;
 import org.fairdatatrain.fairdatastation.api.dto.event.job.JobDTO;
 import org.fairdatatrain.fairdatastation.api.dto.event.job.JobSimpleDTO;
 import org.fairdatatrain.fairdatastation.api.dto.event.train.TrainDispatchPayloadDTO;
+import org.fairdatatrain.fairdatastation.config.properties.JobProperties;
+import org.fairdatatrain.fairdatastation.data.model.enums.JobStage;
 import org.fairdatatrain.fairdatastation.data.model.enums.JobStatus;
 import org.fairdatatrain.fairdatastation.data.model.event.Job;
 import org.fairdatatrain.fairdatastation.data.repository.event.JobRepository;
@@ -37,9 +39,15 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
+import static org.fairdatatrain.fairdatastation.utils.TimeUtils.now;
+
 @Service
 @RequiredArgsConstructor
 @Slf4j
@@ -51,6 +59,12 @@ public class JobService {
 
     private final JobMapper jobMapper;
 
+    private final JobProperties jobProperties;
+
+    private final JobScheduler jobScheduler;
+
+    private final String instanceId = UUID.randomUUID().toString();
+
     @Transactional(propagation = Propagation.REQUIRED, readOnly = true)
     public Page<JobSimpleDTO> getJobs(Pageable pageable) {
         return jobRepository
@@ -64,6 +78,12 @@ public class JobService {
                 .orElseThrow(() -> new NotFoundException(ENTITY_NAME, jobUuid));
     }
 
+    public Job lockByIdOrThrow(UUID jobUuid) throws NotFoundException {
+        return jobRepository
+                .lockJobForUpdate(jobUuid)
+                .orElseThrow(() -> new NotFoundException(ENTITY_NAME, jobUuid));
+    }
+
     @Transactional(propagation = Propagation.REQUIRED, readOnly = true)
     public JobDTO getJob(UUID jobUuid) throws NotFoundException {
         return jobMapper.toDTO(getByIdOrThrow(jobUuid));
@@ -75,12 +95,94 @@ public class JobService {
         return jobRepository.saveAndFlush(job);
     }
 
-    public Optional<Job> getNextJob() {
-        // TODO: priority?
-        return jobRepository.findFirstByFinishedAtIsNullOrderByCreatedAtAsc();
+    @Transactional(propagation = Propagation.REQUIRED)
+    public void notifyQueued() {
+        // delivered to listeners once the transaction commits
+        jobRepository.notifyQueue();
+    }
+
+    public List<UUID> getNextJobCandidates() {
+        return jobScheduler.getCandidates(now());
+    }
+
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public Optional<Job> startJob(UUID jobUuid) {
+        final Optional<Job> job = jobRepository.lockJob(jobUuid, now());
+        if (job.isPresent() && job.get().getStatus().equals(JobStatus.ABORTING)) {
+            // instance processing the job stopped before cancelling it
+            log.warn("Job {} lease of {} expired while aborting", jobUuid,
+                    job.get().getLeaseOwner());
+            updateStatus(job.get(), JobStatus.ABORTED);
+            return Optional.empty();
+        }
+        job.ifPresent(value -> {
+            if (value.getStatus().equals(JobStatus.RUNNING)) {
+                log.warn("Job {} lease of {} expired, taking over",
+                        value.getUuid(), value.getLeaseOwner());
+            }
+            jobRepository.saveAndFlush(jobMapper.claim(value, instanceId, leaseExpiresAt()));
+        });
+        return job;
+    }
+
+    // only jobs held by live workers, leases of others expire
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void renewLeases(Collection<UUID> jobUuids) {
+        if (jobUuids.isEmpty()) {
+            return;
+        }
+        final int renewed = jobRepository.renewLeases(instanceId, jobUuids, leaseExpiresAt());
+        log.debug("Renewed lease of {} running job(s)", renewed);
+    }
+
+    // cancellation may be requested via any instance, so the stored status is checked
+    public boolean isAbortRequested(Job job) {
+        return jobRepository
+                .findStatus(job.getUuid())
+                .map(JobStatus.ABORTING::equals)
+                .orElse(false);
+    }
+
+    public List<UUID> getAbortingJobs() {
+        return jobRepository.findAbortingJobs(instanceId);
+    }
+
+    // status updates are called directly (not via proxy), so the transaction starts here
+    @Transactional(propagation = Propagation.REQUIRED)
+    public void requeueJob(Job job) {
+        updateStatus(job, JobStatus.QUEUED);
+    }
+
+    // postponed by the job itself, so the claim does not count as an attempt
+    @Transactional(propagation = Propagation.REQUIRED)
+    public void deferJob(Job job, int priority) {
+        job.setPriority(priority);
+        job.setAttempts(job.getAttempts() - 1);
+        requeueJob(job);
     }
 
+    @Transactional(propagation = Propagation.REQUIRED)
     public void updateStatus(Job job, JobStatus status) {
-        jobRepository.saveAndFlush(jobMapper.updateStatus(job, status));
+        jobMapper.updateStatus(job, status);
+        if (status.equals(JobStatus.QUEUED)) {
+            jobRepository.requeueJob(job.getUuid(), job.getPriority(), job.getAttempts(),
+                    job.getUpdatedAt());
+        }
+        else if (jobMapper.isTerminal(status)) {
+            jobRepository.finishJob(job.getUuid(), status, job.getUpdatedAt());
+        }
+        else {
+            jobRepository.updateStatus(job.getUuid(), status, job.getUpdatedAt());
+        }
+    }
+
+    @Transactional(propagation = Propagation.REQUIRED)
+    public void updateStage(Job job, JobStage stage) {
+        jobMapper.updateStage(job, stage);
+        jobRepository.updateStage(job.getUuid(), stage, job.getUpdatedAt());
+    }
+
+    private Timestamp leaseExpiresAt() {
+        return Timestamp.from(Instant.now().plus(jobProperties.getLease()));
     }
 }
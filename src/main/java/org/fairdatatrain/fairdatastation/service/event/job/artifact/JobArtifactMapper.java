@@ -24,13 +24,13 @@ package org.fairdatatrain.fairdatastation.service.event.job.artifact;
 
 import org.fairdatatrain.fairdatastation.api.dto.event.job.artifact.JobArtifactDTO;
 import org.fairdatatrain.fairdatastation.api.dto.event.job.artifact.JobArtifactDispatchDTO;
-import org.fairdatatrain.fairdatastation.data.model.enums.ArtifactStorage;
 import org.fairdatatrain.fairdatastation.data.model.event.Job;
 import org.fairdatatrain.fairdatastation.data.model.event.JobArtifact;
+import org.fairdatatrain.fairdatastation.data.model.event.JobArtifactData;
+import org.fairdatatrain.fairdatastation.service.storage.artifact.StoredArtifact;
 import org.springframework.stereotype.Component;
 
 import java.sql.Timestamp;
-import java.util.Base64;
 
 import static org.fairdatatrain.fairdatastation.utils.TimeUtils.now;
 
@@ -53,7 +53,7 @@ public class JobArtifactMapper {
     }
 
     public JobArtifact create(Job job, String displayName, String filename, String contentType,
-                              byte[] data, String hash) {
+                              StoredArtifact storedArtifact) {
         final Timestamp now = now();
         return JobArtifact
                 .builder()
@@ -61,16 +61,28 @@ public class JobArtifactMapper {
                 .displayName(displayName)
                 .filename(filename)
                 .contentType(contentType)
-                .data(data)
-                .storage(ArtifactStorage.POSTGRES)
-                .bytesize((long) data.length)
-                .hash(hash)
+                .storage(storedArtifact.getStorage())
+                .location(storedArtifact.getLocation())
+                .bytesize(storedArtifact.getBytesize())
+                .hash(storedArtifact.getHash())
                 .occurredAt(now)
                 .createdAt(now)
                 .updatedAt(now)
                 .build();
     }
 
+    public JobArtifactData createData(JobArtifact jobArtifact, byte[] data) {
+        final Timestamp now = now();
+        return JobArtifactData
+                .builder()
+                .jobArtifact(jobArtifact)
+                .data(data)
+                .createdAt(now)
+                .updatedAt(now)
+                .build();
+    }
+
+    // base64data is streamed separately, see JobArtifactStreamer
     public JobArtifactDispatchDTO toDispatchDTO(JobArtifact artifact) {
         return JobArtifactDispatchDTO
                 .builder()
@@ -81,7 +93,6 @@ public class JobArtifactMapper {
                 .bytesize(artifact.getBytesize())
                 .hash(artifact.getHash())
                 .contentType(artifact.getContentType())
-                .base64data(Base64.getEncoder().encodeToString(artifact.getData()))
                 .occurredAt(artifact.getOccurredAt().toInstant())
                 .build();
     }
@@ -25,26 +25,31 @@ package org.fairdatatrain.fairdatastation.service.event.job.artifact;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.fairdatatrain.fairdatastation.api.dto.event.job.artifact.JobArtifactDTO;
-import org.fairdatatrain.fairdatastation.data.model.enums.ArtifactStorage;
 import org.fairdatatrain.fairdatastation.data.model.event.Job;
 import org.fairdatatrain.fairdatastation.data.model.event.JobArtifact;
+import org.fairdatatrain.fairdatastation.data.repository.event.JobArtifactDataRepository;
 import org.fairdatatrain.fairdatastation.data.repository.event.JobArtifactRepository;
 import org.fairdatatrain.fairdatastation.exception.NotFoundException;
 import org.fairdatatrain.fairdatastation.service.event.delivery.EventDeliveryService;
 import org.fairdatatrain.fairdatastation.service.event.job.JobService;
+import org.fairdatatrain.fairdatastation.service.storage.artifact.ArtifactOutputStream;
+import org.fairdatatrain.fairdatastation.service.storage.artifact.ArtifactStoragePolicy;
+import org.fairdatatrain.fairdatastation.service.storage.artifact.AbstractArtifactUpload;
+import org.fairdatatrain.fairdatastation.service.storage.artifact.ArtifactWriter;
+import org.fairdatatrain.fairdatastation.service.storage.artifact.StoredArtifact;
+import org.springframework.core.io.Resource;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
-import java.security.MessageDigest;
-import java.security.NoSuchAlgorithmException;
-import java.util.Arrays;
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
 
 import static java.lang.String.format;
-import static org.fairdatatrain.fairdatastation.utils.HashUtils.bytesToHex;
 
 @Slf4j
 @Service
@@ -55,12 +60,18 @@ public class JobArtifactService {
 
     private final JobArtifactRepository jobArtifactRepository;
 
+    private final JobArtifactDataRepository jobArtifactDataRepository;
+
     private final JobArtifactMapper jobArtifactMapper;
 
     private final JobService jobService;
 
     private final EventDeliveryService eventDeliveryService;
 
+    private final ArtifactStoragePolicy artifactStoragePolicy;
+
+    private final TransactionTemplate transactionTemplate;
+
     @Transactional(propagation = Propagation.REQUIRED, readOnly = true)
     public List<JobArtifactDTO> getArtifactsForJob(UUID jobUuid) throws NotFoundException {
         final Job job = jobService.getByIdOrThrow(jobUuid);
@@ -81,40 +92,88 @@ public class JobArtifactService {
         return jobArtifact;
     }
 
+    public Resource getArtifactResource(JobArtifact artifact) {
+        return artifactStoragePolicy.getStore(artifact.getStorage()).getResource(artifact);
+    }
+
+    public InputStream openArtifactData(JobArtifact artifact) throws IOException {
+        return artifactStoragePolicy.getStore(artifact.getStorage()).open(artifact);
+    }
+
+    // artifacts are stored one by one, a resumed job skips those stored before interruption
     @Transactional(propagation = Propagation.REQUIRED, readOnly = true)
-    public byte[] getArtifactData(JobArtifact artifact) {
-        if (artifact.getStorage().equals(ArtifactStorage.POSTGRES)) {
-            return artifact.getData();
-        }
-        throw new RuntimeException(
-                format("Unsupported artifact storage: %s", artifact.getStorage())
-        );
+    public boolean hasArtifact(Job job, String filename) {
+        return jobArtifactRepository.existsByJobAndFilename(job, filename);
     }
 
-    @Transactional
     public void createArtifact(Job job, String displayName, String filename,
                                String contentType, byte[] data) {
-        System.out.println(Arrays.toString(data));
-        final String hash = computeHash(data);
-        final JobArtifact jobArtifact = jobArtifactRepository.saveAndFlush(
-                jobArtifactMapper.create(job, displayName, filename, contentType, data, hash)
-        );
-        eventDeliveryService.createInitialDelivery(jobArtifact);
-        log.info("Created artifact {} for job {}", jobArtifact.getUuid(), job.getUuid());
+        createArtifact(job, displayName, filename, contentType, output -> output.write(data));
     }
 
-    private String computeHash(byte[] data) {
-        final MessageDigest digest;
+    public void createArtifact(Job job, String displayName, String filename,
+                               String contentType, ArtifactWriter writer) {
+        // writing can take as long as the query evaluation, no connection is held meanwhile
+        final StoredArtifact storedArtifact = storeData(writer);
+        JobArtifact jobArtifact = null;
         try {
-            digest = MessageDigest.getInstance("SHA-256");
+            jobArtifact = transactionTemplate.execute(status -> {
+                return saveArtifact(job, displayName, filename, contentType, storedArtifact);
+            });
         }
-        catch (NoSuchAlgorithmException exception) {
-            throw new RuntimeException("SHA-256 hashing is not supported");
+        finally {
+            if (jobArtifact == null) {
+                discardData(storedArtifact);
+            }
         }
-        return bytesToHex(digest.digest(data));
+        log.info("Created artifact {} for job {} ({} bytes in {})", jobArtifact.getUuid(),
+                job.getUuid(), jobArtifact.getBytesize(), jobArtifact.getStorage());
     }
 
     public JobArtifactMapper getMapper() {
         return jobArtifactMapper;
     }
+
+    private StoredArtifact storeData(ArtifactWriter writer) {
+        try (AbstractArtifactUpload upload = artifactStoragePolicy.startUpload()) {
+            final ArtifactOutputStream output = new ArtifactOutputStream(upload);
+            writer.write(output);
+            output.flush();
+            return upload
+                    .complete()
+                    .toBuilder()
+                    .bytesize(output.getBytesize())
+                    .hash(output.getHash())
+                    .build();
+        }
+        catch (IOException exception) {
+            throw new RuntimeException(
+                    format("Failed to store artifact: %s", exception.getMessage()), exception
+            );
+        }
+    }
+
+    private JobArtifact saveArtifact(Job job, String displayName, String filename,
+                                     String contentType, StoredArtifact storedArtifact) {
+        final JobArtifact jobArtifact = jobArtifactRepository.saveAndFlush(
+                jobArtifactMapper.create(job, displayName, filename, contentType, storedArtifact)
+        );
+        if (storedArtifact.getData() != null) {
+            jobArtifactDataRepository.save(
+                    jobArtifactMapper.createData(jobArtifact, storedArtifact.getData())
+            );
+        }
+        eventDeliveryService.createInitialDelivery(jobArtifact);
+        return jobArtifact;
+    }
+
+    private void discardData(StoredArtifact storedArtifact) {
+        try {
+            artifactStoragePolicy.getStore(storedArtifact.getStorage()).delete(storedArtifact);
+        }
+        catch (IOException exception) {
+            log.warn("Failed to delete data of unsaved artifact {}: {}",
+                    storedArtifact.getLocation(), exception.getMessage());
+        }
+    }
 }
@@ -0,0 +1,130 @@
+/**
+ * The MIT License
+ * Copyright © 2022 FAIR Data Team
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.fairdatatrain.fairdatastation.service.event.job.artifact;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.fairdatatrain.fairdatastation.api.dto.event.job.artifact.JobArtifactDispatchDTO;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SynchronousSink;
+import reactor.core.scheduler.Schedulers;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.concurrent.Callable;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class JobArtifactStreamer {
+
+    private static final String DATA_FIELD = "base64data";
+
+    private static final byte[] SUFFIX = "\"}".getBytes(StandardCharsets.UTF_8);
+
+    // multiple of 3 so that base64 chunks can be simply concatenated
+    private static final int CHUNK_SIZE = 3 * 16 * 1024;
+
+    private static final int BASE64_GROUP = 3;
+
+    private static final int BASE64_GROUP_LENGTH = 4;
+
+    private final ObjectMapper objectMapper;
+
+    public byte[] prepareEnvelope(JobArtifactDispatchDTO dto) {
+        // JSON of the DTO without data, left open for the base64 data field
+        final ObjectNode node = objectMapper.valueToTree(dto);
+        node.remove(DATA_FIELD);
+        final byte[] json;
+        try {
+            json = objectMapper.writeValueAsBytes(node);
+        }
+        catch (JsonProcessingException exception) {
+            throw new RuntimeException("Failed to serialize artifact envelope", exception);
+        }
+        final String separator = node.isEmpty() ? "" : ",";
+        final byte[] field = dataField(separator).getBytes(StandardCharsets.UTF_8);
+        final byte[] envelope = Arrays.copyOf(json, json.length - 1 + field.length);
+        System.arraycopy(field, 0, envelope, json.length - 1, field.length);
+        return envelope;
+    }
+
+    public long computeContentLength(byte[] envelope, long bytesize) {
+        final long groups = (bytesize + BASE64_GROUP - 1) / BASE64_GROUP;
+        return envelope.length + groups * BASE64_GROUP_LENGTH + SUFFIX.length;
+    }
+
+    public Flux<DataBuffer> stream(byte[] envelope, Callable<InputStream> source) {
+        final Flux<DataBuffer> data = Flux
+                .using(source, this::readChunks, this::close)
+                .subscribeOn(Schedulers.boundedElastic());
+        return Flux.concat(Mono.fromCallable(() -> wrap(envelope)), data,
+                Mono.fromCallable(() -> wrap(SUFFIX)));
+    }
+
+    private Flux<DataBuffer> readChunks(InputStream input) {
+        return Flux.generate(sink -> readChunk(input, sink));
+    }
+
+    private void readChunk(InputStream input, SynchronousSink<DataBuffer> sink) {
+        try {
+            final byte[] chunk = input.readNBytes(CHUNK_SIZE);
+            if (chunk.length == 0) {
+                sink.complete();
+            }
+            else {
+                sink.next(wrap(Base64.getEncoder().encode(chunk)));
+            }
+        }
+        catch (IOException exception) {
+            sink.error(exception);
+        }
+    }
+
+    private void close(InputStream input) {
+        try {
+            input.close();
+        }
+        catch (IOException exception) {
+            log.warn("Failed to close artifact data stream: {}", exception.getMessage());
+        }
+    }
+
+    private static String dataField(String separator) {
+        return separator + "\"" + DATA_FIELD + "\":\"";
+    }
+
+    private static DataBuffer wrap(byte[] bytes) {
+        return DefaultDataBufferFactory.sharedInstance.wrap(bytes);
+    }
+}
@@ -0,0 +1,108 @@
+/**
+ * The MIT License
+ * Copyright © 2022 FAIR Data Team
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.fairdatatrain.fairdatastation.service.event.job.checkpoint;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.fairdatatrain.fairdatastation.data.model.enums.JobStage;
+import org.fairdatatrain.fairdatastation.data.model.event.Job;
+import org.fairdatatrain.fairdatastation.data.model.event.JobCheckpoint;
+import org.fairdatatrain.fairdatastation.data.repository.event.JobCheckpointRepository;
+import org.fairdatatrain.fairdatastation.exception.JobAbortedException;
+import org.fairdatatrain.fairdatastation.service.event.job.JobService;
+import org.fairdatatrain.fairdatastation.service.event.job.event.JobEventService;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.util.Optional;
+
+import static java.lang.String.format;
+import static org.fairdatatrain.fairdatastation.utils.TimeUtils.now;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class JobCheckpointService {
+
+    private final JobCheckpointRepository jobCheckpointRepository;
+
+    private final JobService jobService;
+
+    private final JobEventService jobEventService;
+
+    public boolean isReached(Job job, JobStage stage) {
+        return job.getStage() != null && job.getStage().compareTo(stage) >= 0;
+    }
+
+    @Transactional(propagation = Propagation.REQUIRED, readOnly = true)
+    public Optional<String> load(Job job, JobStage stage, String name) {
+        if (!isReached(job, stage)) {
+            return Optional.empty();
+        }
+        return jobCheckpointRepository
+                .findByJobAndName(job, name)
+                .map(JobCheckpoint::getContent);
+    }
+
+    // checkpoint and flushed events are kept when the job turns out to be aborted
+    @Transactional(noRollbackFor = JobAbortedException.class)
+    public void store(Job job, JobStage stage, String name, String content) {
+        final Timestamp now = now();
+        final Optional<JobCheckpoint> existing =
+                jobCheckpointRepository.findByJobAndName(job, name);
+        final JobCheckpoint checkpoint;
+        if (existing.isPresent()) {
+            checkpoint = existing.get();
+            checkpoint.setStage(stage);
+            checkpoint.setContent(content);
+            checkpoint.setUpdatedAt(now);
+        }
+        else {
+            checkpoint = JobCheckpoint
+                    .builder()
+                    .job(job)
+                    .stage(stage)
+                    .name(name)
+                    .content(content)
+                    .createdAt(now)
+                    .updatedAt(now)
+                    .build();
+        }
+        jobCheckpointRepository.saveAndFlush(checkpoint);
+        reach(job, stage);
+    }
+
+    public void reach(Job job, JobStage stage) {
+        jobEventService.flushEvents(job);
+        if (!isReached(job, stage)) {
+            jobService.updateStage(job, stage);
+            log.info("Job {} reached stage {}", job.getUuid(), stage);
+        }
+        // stages are the points where processing can stop (before the query is registered)
+        if (jobService.isAbortRequested(job)) {
+            throw new JobAbortedException(format("Cancelled after stage %s", stage));
+        }
+    }
+}
@@ -22,6 +22,7 @@
  */
 package org.fairdatatrain.fairdatastation.service.event.job.event;
 
+import jakarta.annotation.PreDestroy;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.fairdatatrain.fairdatastation.api.dto.event.job.event.JobEventDTO;
@@ -32,12 +33,18 @@ import org.fairdatatrain.fairdatastation.data.repository.event.JobEventRepositor
 import org.fairdatatrain.fairdatastation.exception.NotFoundException;
 import org.fairdatatrain.fairdatastation.service.event.delivery.EventDeliveryService;
 import org.fairdatatrain.fairdatastation.service.event.job.JobService;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 
 @Slf4j
 @Service
@@ -52,6 +59,9 @@ public class JobEventService {
 
     private final EventDeliveryService eventDeliveryService;
 
+    // events not yet persisted per job, written in batches
+    private final Map<UUID, List<JobEvent>> buffer = new ConcurrentHashMap<>();
+
     @Transactional(propagation = Propagation.REQUIRED, readOnly = true)
     public List<JobEventDTO> getEventsForJob(UUID jobUuid) throws NotFoundException {
         final Job job = jobService.getByIdOrThrow(jobUuid);
@@ -68,11 +78,86 @@ public class JobEventService {
 
     @Transactional
     public void createEvent(Job job, String message, JobStatus status) {
-        final JobEvent jobEvent = jobEventRepository.saveAndFlush(
-                jobEventMapper.create(job, message, status)
-        );
-        eventDeliveryService.createInitialDelivery(jobEvent);
-        log.info("Created event {} for job {}", jobEvent.getUuid(), job.getUuid());
+        final JobEvent jobEvent = jobEventMapper.create(job, message, status);
+        buffer.compute(job.getUuid(), (jobUuid, events) -> {
+            final List<JobEvent> jobEvents = events == null ? new ArrayList<>() : events;
+            jobEvents.add(jobEvent);
+            return jobEvents;
+        });
+        log.debug("Created event for job {}: {}", job.getUuid(), message);
+        if (status != null) {
+            persist(job.getUuid());
+        }
+    }
+
+    @Transactional
+    public void flushEvents(Job job) {
+        persist(job.getUuid());
+    }
+
+    @Transactional
+    @Scheduled(
+            initialDelayString = "${data-station.events.flush-interval:PT2S}",
+            fixedDelayString = "${data-station.events.flush-interval:PT2S}"
+    )
+    public void flushEvents() {
+        buffer.keySet().forEach(this::persist);
+    }
+
+    @PreDestroy
+    public void flushPendingEvents() {
+        flushEvents();
+    }
+
+    private void persist(UUID jobUuid) {
+        final List<JobEvent> events = buffer.remove(jobUuid);
+        if (events == null || events.isEmpty()) {
+            return;
+        }
+        // copies are saved, buffered events stay transient to be returned if the write fails
+        boolean persisted = false;
+        try {
+            final List<JobEvent> jobEvents = jobEventRepository.saveAll(events
+                    .stream()
+                    .<JobEvent>map(jobEvent -> jobEvent.toBuilder().build())
+                    .toList());
+            eventDeliveryService.createInitialDeliveries(jobEvents);
+            jobEventRepository.flush();
+            persisted = true;
+            log.info("Created {} event(s) for job {}", jobEvents.size(), jobUuid);
+        }
+        finally {
+            if (persisted) {
+                restoreOnRollback(jobUuid, events);
+            }
+            else {
+                restore(jobUuid, events);
+            }
+        }
+    }
+
+    private void restoreOnRollback(UUID jobUuid, List<JobEvent> events) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_ROLLED_BACK) {
+                    restore(jobUuid, events);
+                }
+            }
+        });
+    }
+
+    private void restore(UUID jobUuid, List<JobEvent> events) {
+        log.warn("Failed to persist {} event(s) for job {}, keeping them for next flush",
+                events.size(), jobUuid);
+        buffer.merge(jobUuid, events, (newer, failed) -> {
+            final List<JobEvent> jobEvents = new ArrayList<>(failed);
+            jobEvents.addAll(newer);
+            return jobEvents;
+        });
     }
 
     public JobEventMapper getMapper() {
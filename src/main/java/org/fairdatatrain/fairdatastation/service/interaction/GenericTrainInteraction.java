@@ -26,9 +26,13 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.eclipse.rdf4j.model.Model;
 import org.eclipse.rdf4j.model.Resource;
+import org.fairdatatrain.fairdatastation.config.properties.JobProperties;
+import org.fairdatatrain.fairdatastation.data.model.enums.JobStage;
 import org.fairdatatrain.fairdatastation.data.model.enums.JobStatus;
 import org.fairdatatrain.fairdatastation.data.model.event.Job;
+import org.fairdatatrain.fairdatastation.exception.JobAbortedException;
 import org.fairdatatrain.fairdatastation.service.event.job.JobService;
+import org.fairdatatrain.fairdatastation.service.event.job.checkpoint.JobCheckpointService;
 import org.fairdatatrain.fairdatastation.service.event.job.event.JobEventService;
 import org.fairdatatrain.fairdatastation.service.interaction.entity.TrainType;
 import org.fairdatatrain.fairdatastation.service.interaction.fetch.TrainFetcher;
@@ -37,13 +41,19 @@ import org.fairdatatrain.fairdatastation.service.interaction.train.TrainInteract
 import org.fairdatatrain.fairdatastation.service.validation.TrainValidationService;
 import org.springframework.stereotype.Service;
 
+import java.util.Optional;
+
 import static java.lang.String.format;
+import static org.fairdatatrain.fairdatastation.utils.RdfUtils.read;
+import static org.fairdatatrain.fairdatastation.utils.RdfUtils.write;
 
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class GenericTrainInteraction {
 
+    private static final String CHECKPOINT_TRAIN = "train metadata";
+
     private final TrainInteractionFactory trainInteractionFactory;
 
     private final TrainFetcher trainFetcher;
@@ -54,14 +64,22 @@ public class GenericTrainInteraction {
 
     private final JobService jobService;
 
+    private final JobCheckpointService jobCheckpointService;
+
+    private final JobProperties jobProperties;
+
     public void interact(Job job) {
         sendInfo(job, "Retrieved job from queue", JobStatus.RUNNING);
+        if (job.getAttempts() > jobProperties.getMaxAttempts()) {
+            handleInteractionFailed(job, format("Job not finished in %d attempts, giving up",
+                    jobProperties.getMaxAttempts()));
+            return;
+        }
+        if (job.getStage() != null) {
+            sendInfo(job, format("Resume: Continuing after stage %s", job.getStage()));
+        }
         try {
-            sendInfo(job, format("Fetch: Fetching details for train: %s",
-                    job.getTrainUri()));
-            final Model trainMetadata = fetchTrainMetadata(job);
-            sendInfo(job, format("Fetch: Details fetched successfully for train: %s",
-                    job.getTrainUri()));
+            final Model trainMetadata = getTrainMetadata(job);
 
             sendInfo(job, "Validation: Validating train metadata and checking type");
             final Resource train = extractValidTrain(trainMetadata);
@@ -75,11 +93,19 @@ public class GenericTrainInteraction {
                     trainInteractionFactory.getTrainInteractionService(trainType);
             trainInteraction.interact(job, trainMetadata, train);
         }
+        catch (JobAbortedException exception) {
+            handleInteractionAborted(job, exception.getMessage());
+        }
         catch (Exception exception) {
             handleInteractionFailed(job, exception.getMessage());
         }
     }
 
+    private void handleInteractionAborted(Job job, String message) {
+        jobEventService.createEvent(job, message, JobStatus.ABORTED);
+        jobService.updateStatus(job, JobStatus.ABORTED);
+    }
+
     private void handleInteractionFailed(Job job, String message) {
         jobEventService.createEvent(job, message, JobStatus.FAILED);
         jobService.updateStatus(job, JobStatus.FAILED);
@@ -93,6 +119,23 @@ public class GenericTrainInteraction {
         jobEventService.createEvent(job, message, status);
     }
 
+    private Model getTrainMetadata(Job job) {
+        final Optional<String> storedMetadata =
+                jobCheckpointService.load(job, JobStage.TRAIN_FETCHED, CHECKPOINT_TRAIN);
+        if (storedMetadata.isPresent()) {
+            sendInfo(job, format("Resume: Using stored %s", CHECKPOINT_TRAIN));
+            return read(storedMetadata.get(), job.getTrainUri());
+        }
+        sendInfo(job, format("Fetch: Fetching details for train: %s",
+                job.getTrainUri()));
+        final Model trainMetadata = fetchTrainMetadata(job);
+        sendInfo(job, format("Fetch: Details fetched successfully for train: %s",
+                job.getTrainUri()));
+        jobCheckpointService.store(job, JobStage.TRAIN_FETCHED, CHECKPOINT_TRAIN,
+                write(trainMetadata));
+        return trainMetadata;
+    }
+
     private Model fetchTrainMetadata(Job job) {
         try {
             return trainFetcher.fetchTrainMetadata(job.getTrainUri());
@@ -22,49 +22,170 @@
  */
 package org.fairdatatrain.fairdatastation.service.interaction;
 
-import lombok.RequiredArgsConstructor;
+import jakarta.annotation.PreDestroy;
 import lombok.SneakyThrows;
 import lombok.extern.slf4j.Slf4j;
+import org.fairdatatrain.fairdatastation.config.properties.JobProperties;
 import org.fairdatatrain.fairdatastation.data.model.event.Job;
 import org.fairdatatrain.fairdatastation.service.event.job.JobService;
+import org.fairdatatrain.fairdatastation.service.storage.query.QueryGuardRegistry;
 import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 @Slf4j
 @Component
-@RequiredArgsConstructor
 public class JobProcessor {
 
+    private static final String THREAD_PREFIX = "job-worker-";
+
     private final JobService jobService;
 
     private final GenericTrainInteraction trainInteraction;
 
-    // TODO: config
-    // TODO: multi-thread? configurable?
+    private final JobProperties jobProperties;
+
+    private final QueryGuardRegistry queryGuardRegistry;
+
+    private final ExecutorService executor;
+
+    private final Semaphore workers;
+
+    private final AtomicBoolean shuttingDown = new AtomicBoolean(false);
+
+    // jobs held by workers of this instance
+    private final Set<UUID> activeJobs = ConcurrentHashMap.newKeySet();
+
+    public JobProcessor(
+            JobService jobService,
+            GenericTrainInteraction trainInteraction,
+            JobProperties jobProperties,
+            QueryGuardRegistry queryGuardRegistry
+    ) {
+        this.jobService = jobService;
+        this.trainInteraction = trainInteraction;
+        this.jobProperties = jobProperties;
+        this.queryGuardRegistry = queryGuardRegistry;
+        final int concurrency = Math.max(1, jobProperties.getConcurrency());
+        this.workers = new Semaphore(concurrency);
+        this.executor = Executors.newFixedThreadPool(
+                concurrency, new CustomizableThreadFactory(THREAD_PREFIX)
+        );
+        log.info("Job processor configured with {} worker(s)", concurrency);
+    }
+
+    @Scheduled(
+            initialDelayString = "${data-station.jobs.heartbeat:PT1M}",
+            fixedRateString = "${data-station.jobs.heartbeat:PT1M}"
+    )
+    public void renewLeases() {
+        jobService.renewLeases(Set.copyOf(activeJobs));
+        // cancellation requested via another instance
+        queryGuardRegistry.cancelAll(jobService.getAbortingJobs());
+    }
+
     @Scheduled(
             initialDelayString = "${dispatcher.dispatch.initDelay:PT1M}",
             fixedRateString = "${dispatcher.dispatch.interval:PT1M}"
     )
     public void processJobs() {
         log.info("Starting to process jobs");
-        Optional<Job> job = jobService.getNextJob();
-        while (job.isPresent()) {
-            processJob(job.get());
-            job = jobService.getNextJob();
+        while (!shuttingDown.get() && workers.tryAcquire()) {
+            final Optional<Job> job = claimNextJob();
+            if (job.isEmpty()) {
+                workers.release();
+                log.info("No more jobs to process now");
+                return;
+            }
+            submit(job.get());
         }
-        log.info("No more jobs to process now");
+        log.info("All job workers are busy now");
     }
 
     @SneakyThrows
     @Transactional
     public void processJob(Job job) {
-        // TODO: some stages? retries?
-        // interruption on the go (no need to rerun from start)
         log.info("Processing job {}", job.getUuid());
         trainInteraction.interact(job);
         log.info("Processing job {}: done", job.getUuid());
     }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        shuttingDown.set(true);
+        executor.shutdown();
+        log.info("Waiting for running jobs to finish");
+        final long timeout = jobProperties.getShutdownTimeout().toMillis();
+        if (!executor.awaitTermination(timeout, TimeUnit.MILLISECONDS)) {
+            log.warn("Running jobs did not finish in time, interrupting them");
+            executor.shutdownNow();
+        }
+    }
+
+    private void submit(Job job) {
+        try {
+            executor.execute(() -> runWorker(job));
+        }
+        catch (RejectedExecutionException exception) {
+            log.warn("Job {} rejected by worker pool, returning to queue", job.getUuid());
+            workers.release();
+            releaseJob(job);
+        }
+    }
+
+    private void runWorker(Job firstJob) {
+        try {
+            Optional<Job> job = Optional.of(firstJob);
+            while (job.isPresent()) {
+                activeJobs.add(job.get().getUuid());
+                try {
+                    processJob(job.get());
+                }
+                catch (Exception exception) {
+                    log.error("Processing job {} failed unexpectedly",
+                            job.get().getUuid(), exception);
+                    releaseJob(job.get());
+                }
+                finally {
+                    activeJobs.remove(job.get().getUuid());
+                }
+                job = shuttingDown.get() ? Optional.empty() : claimNextJob();
+            }
+        }
+        finally {
+            workers.release();
+        }
+    }
+
+    private void releaseJob(Job job) {
+        // counts as an attempt, if this fails too the lease expires without renewal
+        try {
+            jobService.requeueJob(job);
+        }
+        catch (Exception exception) {
+            log.error("Returning job {} to queue failed", job.getUuid(), exception);
+        }
+    }
+
+    private Optional<Job> claimNextJob() {
+        for (UUID candidate : jobService.getNextJobCandidates()) {
+            final Optional<Job> job = jobService.startJob(candidate);
+            if (job.isPresent()) {
+                return job;
+            }
+        }
+        return Optional.empty();
+    }
 }
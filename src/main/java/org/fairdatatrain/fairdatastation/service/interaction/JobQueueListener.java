@@ -0,0 +1,125 @@
+/**
+ * The MIT License
+ * Copyright © 2022 FAIR Data Team
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.fairdatatrain.fairdatastation.service.interaction;
+
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.fairdatatrain.fairdatastation.config.properties.JobProperties;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.Statement;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class JobQueueListener {
+
+    private static final String CHANNEL = "job_queue";
+
+    private static final String THREAD_NAME = "job-queue-listener";
+
+    private static final int WAIT_MILLIS = 10_000;
+
+    private static final long RECONNECT_MILLIS = 30_000;
+
+    private final DataSource dataSource;
+
+    private final JobProcessor jobProcessor;
+
+    private final JobProperties jobProperties;
+
+    private final AtomicBoolean running = new AtomicBoolean(false);
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!jobProperties.isListen()) {
+            log.info("Listening for queued jobs is disabled, relying on polling");
+            return;
+        }
+        if (running.compareAndSet(false, true)) {
+            final Thread thread = new Thread(this::listen, THREAD_NAME);
+            thread.setDaemon(true);
+            thread.start();
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        running.set(false);
+    }
+
+    private void listen() {
+        try {
+            listenUntilStopped();
+        }
+        finally {
+            // allows start() to run the listener again
+            running.set(false);
+        }
+    }
+
+    private void listenUntilStopped() {
+        while (running.get()) {
+            try (Connection connection = dataSource.getConnection()) {
+                final PGConnection pgConnection = connection.unwrap(PGConnection.class);
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("LISTEN " + CHANNEL);
+                }
+                log.info("Listening for queued jobs on channel {}", CHANNEL);
+                // pick up jobs queued while not listening
+                jobProcessor.processJobs();
+                while (running.get()) {
+                    final PGNotification[] notifications =
+                            pgConnection.getNotifications(WAIT_MILLIS);
+                    if (notifications != null && notifications.length > 0) {
+                        log.debug("Received {} job queue notification(s)", notifications.length);
+                        jobProcessor.processJobs();
+                    }
+                }
+            }
+            catch (Exception exception) {
+                // also data access errors from processing, the thread must survive outages
+                log.warn("Listening for queued jobs failed: {}", exception.getMessage());
+                waitBeforeReconnect();
+            }
+        }
+    }
+
+    private void waitBeforeReconnect() {
+        try {
+            Thread.sleep(RECONNECT_MILLIS);
+        }
+        catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            running.set(false);
+        }
+    }
+}
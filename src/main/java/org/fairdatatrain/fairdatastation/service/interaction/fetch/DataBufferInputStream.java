@@ -0,0 +1,194 @@
+/**
+ * The MIT License
+ * Copyright © 2022 FAIR Data Team
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.fairdatatrain.fairdatastation.service.interaction.fetch;
+
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static java.lang.String.format;
+
+// blocking reads of a response body, buffers are requested only as they are consumed
+final class DataBufferInputStream extends InputStream implements Subscriber<DataBuffer> {
+
+    private static final int PREFETCH = 32;
+
+    // demand is replenished in batches to avoid waking up the event loop for each buffer
+    private static final int REPLENISH = PREFETCH / 2;
+
+    private static final int BYTE_MASK = 0xFF;
+
+    private static final Object COMPLETE = new Object();
+
+    // buffers, error or completion signal (at most PREFETCH buffers at once)
+    private final BlockingQueue<Object> signals = new LinkedBlockingQueue<>();
+
+    private final long maxSize;
+
+    private Subscription subscription;
+
+    private long received;
+
+    private final AtomicBoolean closed = new AtomicBoolean();
+
+    private DataBuffer current;
+
+    private int consumed;
+
+    private boolean finished;
+
+    DataBufferInputStream(long maxSize) {
+        this.maxSize = maxSize;
+    }
+
+    @Override
+    public synchronized void onSubscribe(Subscription newSubscription) {
+        subscription = newSubscription;
+        if (closed.get()) {
+            subscription.cancel();
+            return;
+        }
+        subscription.request(PREFETCH);
+    }
+
+    @Override
+    public synchronized void onNext(DataBuffer buffer) {
+        received += buffer.readableByteCount();
+        if (closed.get()) {
+            DataBufferUtils.release(buffer);
+            return;
+        }
+        if (maxSize > 0 && received > maxSize) {
+            DataBufferUtils.release(buffer);
+            subscription.cancel();
+            signals.add(new IOException(
+                    format("Document exceeds maximum size of %d bytes", maxSize)));
+            return;
+        }
+        signals.add(buffer);
+    }
+
+    @Override
+    public void onError(Throwable throwable) {
+        signals.add(throwable);
+    }
+
+    @Override
+    public void onComplete() {
+        signals.add(COMPLETE);
+    }
+
+    @Override
+    public int read() throws IOException {
+        final byte[] single = new byte[1];
+        return read(single, 0, 1) == -1 ? -1 : single[0] & BYTE_MASK;
+    }
+
+    @Override
+    public int read(byte[] bytes, int offset, int length) throws IOException {
+        if (length == 0) {
+            return 0;
+        }
+        if (!nextReadable()) {
+            return -1;
+        }
+        final int count = Math.min(length, current.readableByteCount());
+        current.read(bytes, offset, count);
+        return count;
+    }
+
+    @Override
+    public synchronized void close() {
+        closed.set(true);
+        if (subscription != null) {
+            subscription.cancel();
+        }
+        releaseCurrent();
+        signals.forEach(DataBufferInputStream::releaseSignal);
+        signals.clear();
+    }
+
+    private boolean nextReadable() throws IOException {
+        while (current == null || current.readableByteCount() == 0) {
+            if (closed.get()) {
+                throw new IOException("Stream closed");
+            }
+            if (current != null) {
+                releaseCurrent();
+                consumed++;
+                if (consumed == REPLENISH) {
+                    subscription.request(consumed);
+                    consumed = 0;
+                }
+            }
+            if (finished) {
+                return false;
+            }
+            final Object signal = take();
+            if (signal instanceof DataBuffer buffer) {
+                current = buffer;
+                continue;
+            }
+            finished = true;
+            if (signal instanceof IOException exception) {
+                throw exception;
+            }
+            if (signal instanceof Throwable throwable) {
+                throw new IOException(throwable.getMessage(), throwable);
+            }
+        }
+        return true;
+    }
+
+    private Object take() throws IOException {
+        try {
+            return signals.take();
+        }
+        catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            close();
+            throw new InterruptedIOException("Reading of response interrupted");
+        }
+    }
+
+    private synchronized void releaseCurrent() {
+        if (current != null) {
+            DataBufferUtils.release(current);
+            current = null;
+        }
+    }
+
+    private static void releaseSignal(Object signal) {
+        if (signal instanceof DataBuffer buffer) {
+            DataBufferUtils.release(buffer);
+        }
+    }
+}
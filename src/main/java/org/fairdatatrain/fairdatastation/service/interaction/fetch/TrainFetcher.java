@@ -27,14 +27,25 @@ import lombok.SneakyThrows;
 import lombok.extern.slf4j.Slf4j;
 import org.eclipse.rdf4j.model.Model;
 import org.eclipse.rdf4j.rio.RDFFormat;
+import org.fairdatatrain.fairdatastation.config.properties.FetchProperties;
+import org.fairdatatrain.fairdatastation.service.interaction.fetch.TrainMetadataCache.CachedModel;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Component;
 import org.springframework.web.client.HttpClientErrorException;
 import org.springframework.web.reactive.function.client.WebClient;
 import org.springframework.web.reactive.function.client.WebClientException;
+import reactor.core.publisher.Flux;
 
 import java.net.URI;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
 
 import static java.lang.String.format;
 import static java.util.Optional.ofNullable;
@@ -50,9 +61,22 @@ public class TrainFetcher {
     private static final String MSG_PARSE = "Request to '%s' successfully parsed";
     private static final String MSG_FAIL = "Request to '%s' failed";
     private static final String MSG_ERROR = "HTTP request failed";
+    private static final String MSG_CACHED = "Using cached response of '%s'";
+    private static final String MSG_NOT_MODIFIED = "Response of '%s' not modified";
+    private static final String MSG_JOIN = "Joining request in flight to '%s'";
 
     private final WebClient webClient;
 
+    private final TrainMetadataCache trainMetadataCache;
+
+    private final FetchProperties fetchProperties;
+
+    // concurrent fetches of the same URI share one request
+    private final Map<String, CompletableFuture<Model>> modelRequests = new ConcurrentHashMap<>();
+
+    private final Map<String, CompletableFuture<String>> stringRequests =
+            new ConcurrentHashMap<>();
+
     public Model fetchTrainMetadata(String trainUri) {
         return fetchModel(trainUri);
     }
@@ -65,20 +89,46 @@ public class TrainFetcher {
         return fetchStringData(uri);
     }
 
-    @SneakyThrows
     public Model fetchModel(String uri) {
+        // parsed model is shared by concurrent and cached requests, so callers get it read-only
+        return coalesce(modelRequests, uri, () -> requestModel(uri)).unmodifiable();
+    }
+
+    public String fetchStringData(String uri) {
+        return coalesce(stringRequests, uri, () -> requestStringData(uri));
+    }
+
+    @SneakyThrows
+    private Model requestModel(String uri) {
+        final CachedModel cached = trainMetadataCache.get(uri).orElse(null);
+        if (cached != null && cached.isFresh()) {
+            log.info(format(MSG_CACHED, uri));
+            return cached.getModel();
+        }
         log.info(format(MSG_MKRQ, uri));
         try {
-            final String response = webClient
+            final ResponseEntity<Flux<DataBuffer>> response = webClient
                     .get()
                     .uri(URI.create(uri))
                     .accept(MediaType.parseMediaType(RDFFormat.TURTLE.getDefaultMIMEType()))
+                    .headers(headers -> addValidators(headers, cached))
                     .retrieve()
-                    .bodyToMono(String.class)
+                    .toEntityFlux(DataBuffer.class)
                     .block();
+            // body is parsed while it is being received
+            final DataBufferInputStream body = new DataBufferInputStream(
+                    fetchProperties.getMaxDocumentSize().toBytes());
+            response.getBody().subscribe(body);
+            if (cached != null && response.getStatusCode() == HttpStatus.NOT_MODIFIED) {
+                body.close();
+                log.info(format(MSG_NOT_MODIFIED, uri));
+                trainMetadataCache.revalidated(uri, response.getHeaders());
+                return cached.getModel();
+            }
             log.info(format(MSG_RCV, uri));
-            final Model result = read(response, uri, RDFFormat.TURTLE);
+            final Model result = read(body, uri, RDFFormat.TURTLE);
             log.info(format(MSG_PARSE, uri));
+            trainMetadataCache.put(uri, result, response.getHeaders());
             return result;
         }
         catch (WebClientException exception) {
@@ -91,7 +141,7 @@ public class TrainFetcher {
     }
 
     @SneakyThrows
-    public String fetchStringData(String uri) {
+    private String requestStringData(String uri) {
         log.info(format(MSG_MKRQ, uri));
         try {
             final String response = webClient
@@ -112,4 +162,48 @@ public class TrainFetcher {
             );
         }
     }
+
+    private static void addValidators(HttpHeaders headers, CachedModel cached) {
+        if (cached == null) {
+            return;
+        }
+        if (cached.getEtag() != null) {
+            headers.setIfNoneMatch(cached.getEtag());
+        }
+        if (cached.getLastModified() != null) {
+            headers.set(HttpHeaders.IF_MODIFIED_SINCE, cached.getLastModified());
+        }
+    }
+
+    private <T> T coalesce(Map<String, CompletableFuture<T>> requests, String uri,
+                           Supplier<T> request) {
+        final CompletableFuture<T> future = new CompletableFuture<>();
+        final CompletableFuture<T> inFlight = requests.putIfAbsent(uri, future);
+        if (inFlight != null) {
+            log.info(format(MSG_JOIN, uri));
+            return await(inFlight);
+        }
+        try {
+            final T result = request.get();
+            future.complete(result);
+            return result;
+        }
+        catch (Exception exception) {
+            future.completeExceptionally(exception);
+            throw exception;
+        }
+        finally {
+            requests.remove(uri, future);
+        }
+    }
+
+    @SneakyThrows
+    private static <T> T await(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        }
+        catch (CompletionException exception) {
+            throw exception.getCause();
+        }
+    }
 }
@@ -0,0 +1,269 @@
+/**
+ * The MIT License
+ * Copyright © 2022 FAIR Data Team
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.fairdatatrain.fairdatastation.service.interaction.fetch;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.extern.slf4j.Slf4j;
+import org.eclipse.rdf4j.model.Model;
+import org.eclipse.rdf4j.rio.RDFFormat;
+import org.eclipse.rdf4j.rio.Rio;
+import org.fairdatatrain.fairdatastation.config.properties.FetchCacheProperties;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+
+// parsed RDF by URI, freshness and validators taken from HTTP response headers
+@Slf4j
+@Component
+public class TrainMetadataCache {
+
+    private static final String METRIC_REQUESTS = "fds.fetch.cache.requests";
+
+    private static final String METRIC_RESULT = "result";
+
+    private static final String SPILL_PREFIX = "fds-fetch-";
+
+    private static final String SPILL_SUFFIX = ".brf";
+
+    private static final String MAX_AGE = "max-age=";
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    private static final float LOAD_FACTOR = 0.75f;
+
+    private final FetchCacheProperties properties;
+
+    // in access order, so the eldest entry is the least recently used one
+    private final Map<String, CacheEntry> entries =
+            new LinkedHashMap<>(INITIAL_CAPACITY, LOAD_FACTOR, true);
+
+    private final Counter hits;
+
+    private final Counter revalidations;
+
+    private final Counter misses;
+
+    public TrainMetadataCache(FetchCacheProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.hits = Counter.builder(METRIC_REQUESTS).tag(METRIC_RESULT, "hit")
+                .register(meterRegistry);
+        this.revalidations = Counter.builder(METRIC_REQUESTS).tag(METRIC_RESULT, "revalidated")
+                .register(meterRegistry);
+        this.misses = Counter.builder(METRIC_REQUESTS).tag(METRIC_RESULT, "miss")
+                .register(meterRegistry);
+    }
+
+    public synchronized Optional<CachedModel> get(String uri) {
+        final CacheEntry entry = entries.get(uri);
+        if (entry == null || entry.getModel() == null && !load(uri, entry)) {
+            return Optional.empty();
+        }
+        final boolean fresh = Instant.now().isBefore(entry.getFreshUntil());
+        if (fresh) {
+            hits.increment();
+        }
+        return Optional.of(new CachedModel(entry.getModel(), entry.getEtag(),
+                entry.getLastModified(), fresh));
+    }
+
+    // response 304 for cached model, no parsing needed
+    public synchronized void revalidated(String uri, HttpHeaders headers) {
+        revalidations.increment();
+        final CacheEntry entry = entries.get(uri);
+        if (entry != null) {
+            entry.setFreshUntil(freshUntil(headers));
+        }
+    }
+
+    public synchronized void put(String uri, Model model, HttpHeaders headers) {
+        misses.increment();
+        remove(uri);
+        if (!properties.isEnabled() || properties.getMaxEntries() <= 0
+                || hasDirective(headers, "no-store")) {
+            return;
+        }
+        entries.put(uri, new CacheEntry(model, null, headers.getETag(),
+                headers.getFirst(HttpHeaders.LAST_MODIFIED), freshUntil(headers)));
+        trim();
+    }
+
+    @PreDestroy
+    public synchronized void clear() {
+        entries.values().forEach(TrainMetadataCache::release);
+        entries.clear();
+    }
+
+    private void trim() {
+        // the eldest entries beyond the limit are spilled to disk or dropped
+        final int overflow =
+                entries.size() - properties.getMaxEntries() - properties.getMaxSpilledEntries();
+        final int excess = entries.size() - properties.getMaxEntries();
+        final Iterator<CacheEntry> iterator = entries.values().iterator();
+        for (int index = 0; index < excess && iterator.hasNext(); index++) {
+            final CacheEntry entry = iterator.next();
+            if (index < overflow || entry.getModel() != null && !spill(entry)) {
+                iterator.remove();
+                release(entry);
+            }
+        }
+    }
+
+    private void remove(String uri) {
+        final CacheEntry entry = entries.remove(uri);
+        if (entry != null) {
+            release(entry);
+        }
+    }
+
+    private boolean spill(CacheEntry entry) {
+        try {
+            final Path file = Files.createTempFile(SPILL_PREFIX, SPILL_SUFFIX);
+            entry.setFile(file);
+            try (OutputStream output = Files.newOutputStream(file)) {
+                Rio.write(entry.getModel(), output, RDFFormat.BINARY);
+            }
+            entry.setModel(null);
+            return true;
+        }
+        catch (IOException exception) {
+            log.warn("Failed to spill cached model: {}", exception.getMessage());
+            return false;
+        }
+    }
+
+    private boolean load(String uri, CacheEntry entry) {
+        try (InputStream input = Files.newInputStream(entry.getFile())) {
+            entry.setModel(Rio.parse(input, uri, RDFFormat.BINARY));
+        }
+        catch (IOException exception) {
+            log.warn("Failed to load cached model of {}: {}", uri, exception.getMessage());
+            remove(uri);
+            return false;
+        }
+        // back in memory as the most recently used entry
+        deleteFile(entry.getFile());
+        entry.setFile(null);
+        trim();
+        return true;
+    }
+
+    private Instant freshUntil(HttpHeaders headers) {
+        final Instant now = Instant.now();
+        if (hasDirective(headers, "no-cache")) {
+            return now;
+        }
+        for (String directive : directives(headers)) {
+            if (directive.startsWith(MAX_AGE)) {
+                try {
+                    return now.plusSeconds(Long.parseLong(directive.substring(MAX_AGE.length())));
+                }
+                catch (NumberFormatException exception) {
+                    return now;
+                }
+            }
+        }
+        if (headers.getExpires() > 0) {
+            return Instant.ofEpochMilli(headers.getExpires());
+        }
+        return now.plus(Optional.ofNullable(properties.getDefaultTtl()).orElse(Duration.ZERO));
+    }
+
+    private static boolean hasDirective(HttpHeaders headers, String name) {
+        for (String directive : directives(headers)) {
+            if (directive.equals(name)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String[] directives(HttpHeaders headers) {
+        final String cacheControl = headers.getCacheControl();
+        if (cacheControl == null) {
+            return new String[0];
+        }
+        return cacheControl.toLowerCase(Locale.ROOT).replace(" ", "").split(",");
+    }
+
+    private static void release(CacheEntry entry) {
+        if (entry.getFile() != null) {
+            deleteFile(entry.getFile());
+        }
+    }
+
+    private static void deleteFile(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        }
+        catch (IOException exception) {
+            log.warn("Failed to delete cached model {}: {}", file, exception.getMessage());
+        }
+    }
+
+    // snapshot of an entry, the model must not be modified
+    @Getter
+    @AllArgsConstructor
+    public static final class CachedModel {
+
+        private final Model model;
+
+        private final String etag;
+
+        private final String lastModified;
+
+        private final boolean fresh;
+    }
+
+    @Getter
+    @Setter
+    @AllArgsConstructor
+    private static final class CacheEntry {
+
+        private Model model;
+
+        private Path file;
+
+        private final String etag;
+
+        private final String lastModified;
+
+        private Instant freshUntil;
+    }
+}
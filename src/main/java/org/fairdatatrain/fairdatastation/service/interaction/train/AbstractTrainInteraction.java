@@ -28,14 +28,20 @@ import nl.dtls.fairdatapoint.vocabulary.FDT;
 import org.eclipse.rdf4j.model.Model;
 import org.eclipse.rdf4j.model.Resource;
 import org.eclipse.rdf4j.model.Value;
+import org.fairdatatrain.fairdatastation.data.model.enums.JobStage;
 import org.fairdatatrain.fairdatastation.data.model.enums.JobStatus;
 import org.fairdatatrain.fairdatastation.data.model.event.Job;
 import org.fairdatatrain.fairdatastation.service.accesscontrol.BasicAccessControlService;
 import org.fairdatatrain.fairdatastation.service.event.job.JobService;
 import org.fairdatatrain.fairdatastation.service.event.job.artifact.JobArtifactService;
+import org.fairdatatrain.fairdatastation.service.event.job.checkpoint.JobCheckpointService;
 import org.fairdatatrain.fairdatastation.service.event.job.event.JobEventService;
 import org.fairdatatrain.fairdatastation.service.interaction.entity.InteractionArtifact;
 import org.fairdatatrain.fairdatastation.service.interaction.fetch.TrainFetcher;
+import org.fairdatatrain.fairdatastation.service.storage.artifact.ArtifactWriter;
+
+import java.util.Optional;
+import java.util.function.Supplier;
 
 import static java.lang.String.format;
 import static org.fairdatatrain.fairdatastation.utils.RdfUtils.getObjectBy;
@@ -55,6 +61,8 @@ public abstract class AbstractTrainInteraction {
 
     private final TrainFetcher trainFetcher;
 
+    private final JobCheckpointService jobCheckpointService;
+
     protected BasicAccessControlService getAccessControlService() {
         return accessControlService;
     }
@@ -75,11 +83,20 @@ public abstract class AbstractTrainInteraction {
         return trainFetcher;
     }
 
+    protected JobCheckpointService getJobCheckpointService() {
+        return jobCheckpointService;
+    }
+
     protected void handleInteractionFailed(Job job, String message) {
         jobEventService.createEvent(job, message, JobStatus.FAILED);
         jobService.updateStatus(job, JobStatus.FAILED);
     }
 
+    protected void handleInteractionAborted(Job job, String message) {
+        jobEventService.createEvent(job, message, JobStatus.ABORTED);
+        jobService.updateStatus(job, JobStatus.ABORTED);
+    }
+
     protected void checkAccess() {
         try {
             accessControlService.checkAccess();
@@ -94,7 +111,34 @@ public abstract class AbstractTrainInteraction {
         jobEventService.createEvent(job, message);
     }
 
+    protected Optional<String> loadCheckpoint(Job job, JobStage stage, String name) {
+        final Optional<String> content = jobCheckpointService.load(job, stage, name);
+        content.ifPresent(value -> sendInfo(job, format("Resume: Using stored %s", name)));
+        return content;
+    }
+
+    protected String checkpoint(Job job, JobStage stage, String name, Supplier<String> producer) {
+        final Optional<String> stored = loadCheckpoint(job, stage, name);
+        if (stored.isPresent()) {
+            return stored.get();
+        }
+        final String content = producer.get();
+        jobCheckpointService.store(job, stage, name, content);
+        return content;
+    }
+
+    protected boolean isStageReached(Job job, JobStage stage) {
+        return jobCheckpointService.isReached(job, stage);
+    }
+
+    protected void reachStage(Job job, JobStage stage) {
+        jobCheckpointService.reach(job, stage);
+    }
+
     protected void sendArtifact(Job job, InteractionArtifact result) {
+        if (isArtifactStored(job, result)) {
+            return;
+        }
         jobArtifactService.createArtifact(
                 job,
                 result.getName(),
@@ -104,6 +148,27 @@ public abstract class AbstractTrainInteraction {
         );
     }
 
+    protected void sendArtifact(Job job, InteractionArtifact artifact, ArtifactWriter writer) {
+        if (isArtifactStored(job, artifact)) {
+            return;
+        }
+        jobArtifactService.createArtifact(
+                job,
+                artifact.getName(),
+                artifact.getFilename(),
+                artifact.getContentType(),
+                writer
+        );
+    }
+
+    private boolean isArtifactStored(Job job, InteractionArtifact artifact) {
+        if (!jobArtifactService.hasArtifact(job, artifact.getFilename())) {
+            return false;
+        }
+        sendInfo(job, format("Resume: Artifact %s already stored", artifact.getFilename()));
+        return true;
+    }
+
     protected Model getPayloadMetadata(Job job, Resource payloadResource) {
         return trainFetcher.fetchPayloadMetadata(payloadResource.stringValue());
     }
@@ -25,11 +25,14 @@ package org.fairdatatrain.fairdatastation.service.interaction.train.fhir;
 import lombok.extern.slf4j.Slf4j;
 import org.eclipse.rdf4j.model.Model;
 import org.eclipse.rdf4j.model.Resource;
+import org.fairdatatrain.fairdatastation.data.model.enums.JobStage;
 import org.fairdatatrain.fairdatastation.data.model.enums.JobStatus;
 import org.fairdatatrain.fairdatastation.data.model.event.Job;
+import org.fairdatatrain.fairdatastation.exception.JobAbortedException;
 import org.fairdatatrain.fairdatastation.service.accesscontrol.BasicAccessControlService;
 import org.fairdatatrain.fairdatastation.service.event.job.JobService;
 import org.fairdatatrain.fairdatastation.service.event.job.artifact.JobArtifactService;
+import org.fairdatatrain.fairdatastation.service.event.job.checkpoint.JobCheckpointService;
 import org.fairdatatrain.fairdatastation.service.event.job.event.JobEventService;
 import org.fairdatatrain.fairdatastation.service.interaction.entity.InteractionArtifact;
 import org.fairdatatrain.fairdatastation.service.interaction.fetch.TrainFetcher;
@@ -48,6 +51,8 @@ import java.util.Optional;
 @Service
 public class FHIRTrainInteraction extends AbstractTrainInteraction implements ITrainInteraction {
 
+    private static final String CHECKPOINT_PAYLOAD = "train payload (FHIR request)";
+
     private final FHIRClient fhirClient;
 
     public FHIRTrainInteraction(
@@ -56,9 +61,11 @@ public class FHIRTrainInteraction extends AbstractTrainInteraction implements IT
             JobArtifactService jobArtifactService,
             JobService jobService,
             TrainFetcher trainFetcher,
+            JobCheckpointService jobCheckpointService,
             FHIRClient fhirClient
     ) {
-        super(accessControlService, jobEventService, jobArtifactService, jobService, trainFetcher);
+        super(accessControlService, jobEventService, jobArtifactService, jobService, trainFetcher,
+                jobCheckpointService);
         this.fhirClient = fhirClient;
     }
 
@@ -70,24 +77,45 @@ public class FHIRTrainInteraction extends AbstractTrainInteraction implements IT
 
             sendInfo(job, "Validation: Validating FHIR request");
             validateRequest(fhirRequest);
+            reachStage(job, JobStage.PAYLOAD_VALIDATED);
             sendInfo(job, "Validation: FHIR request validated");
 
             sendInfo(job, "Access Control: Requesting access to Triple Store");
             checkAccess();
             sendInfo(job, "Access Control: Access to Triple Store granted");
 
-            final List<InteractionArtifact> results = interactCommunicate(job, fhirRequest);
-            results.forEach(result -> sendArtifact(job, result));
+            if (isStageReached(job, JobStage.EXECUTED)) {
+                sendInfo(job, "Resume: FHIR request already sent and artifact(s) stored");
+            }
+            else {
+                final List<InteractionArtifact> results = interactCommunicate(job, fhirRequest);
+                results.forEach(result -> sendArtifact(job, result));
+                reachStage(job, JobStage.EXECUTED);
+            }
 
             getJobEventService().createEvent(job, "Finished!", JobStatus.FINISHED);
             getJobService().updateStatus(job, JobStatus.FINISHED);
         }
+        catch (JobAbortedException exception) {
+            handleInteractionAborted(job, exception.getMessage());
+        }
         catch (Exception exception) {
             handleInteractionFailed(job, exception.getMessage());
         }
     }
 
     public FHIRPreparedRequest interactPrepare(Job job, Model model, Resource train) {
+        final String payload = checkpoint(job, JobStage.PAYLOAD_FETCHED, CHECKPOINT_PAYLOAD,
+                () -> fetchRequest(job, model, train));
+
+        sendInfo(job, "Validation: Parsing train payload");
+        final FHIRPreparedRequest fhirRequest = prepareRequest(payload);
+        sendInfo(job, "Validation: Train payload parsed");
+
+        return fhirRequest;
+    }
+
+    private String fetchRequest(Job job, Model model, Resource train) {
         final Resource payloadResource = getPayloadMetadataUrl(model, train);
         sendInfo(job, "Validation: Validating payload resource");
         validatePayloadResource(payloadResource);
@@ -101,12 +129,7 @@ public class FHIRTrainInteraction extends AbstractTrainInteraction implements IT
         sendInfo(job, "Fetch: Fetching train payload (FHIR request)");
         final String payload = fetchPayload(payloadDownloadUrl);
         sendInfo(job, "Fetch: Train payload (FHIR request) fetched");
-
-        sendInfo(job, "Validation: Parsing train payload");
-        final FHIRPreparedRequest fhirRequest = prepareRequest(payload);
-        sendInfo(job, "Validation: Train payload parsed");
-
-        return fhirRequest;
+        return payload;
     }
 
     public List<InteractionArtifact> interactCommunicate(Job job, FHIRPreparedRequest fhirRequest) {
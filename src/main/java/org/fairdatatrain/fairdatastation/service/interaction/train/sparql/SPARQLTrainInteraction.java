@@ -26,24 +26,26 @@ import lombok.extern.slf4j.Slf4j;
 import nl.dtls.fairdatapoint.vocabulary.FDT;
 import org.eclipse.rdf4j.model.Model;
 import org.eclipse.rdf4j.model.Resource;
-import org.eclipse.rdf4j.query.QueryLanguage;
-import org.eclipse.rdf4j.query.parser.ParsedOperation;
-import org.eclipse.rdf4j.query.parser.ParsedUpdate;
-import org.eclipse.rdf4j.query.parser.QueryParserUtil;
+import org.fairdatatrain.fairdatastation.data.model.enums.JobStage;
 import org.fairdatatrain.fairdatastation.data.model.enums.JobStatus;
 import org.fairdatatrain.fairdatastation.data.model.event.Job;
+import org.fairdatatrain.fairdatastation.exception.JobAbortedException;
+import org.fairdatatrain.fairdatastation.exception.StorageException;
 import org.fairdatatrain.fairdatastation.service.accesscontrol.BasicAccessControlService;
 import org.fairdatatrain.fairdatastation.service.event.job.JobService;
 import org.fairdatatrain.fairdatastation.service.event.job.artifact.JobArtifactService;
+import org.fairdatatrain.fairdatastation.service.event.job.checkpoint.JobCheckpointService;
 import org.fairdatatrain.fairdatastation.service.event.job.event.JobEventService;
-import org.fairdatatrain.fairdatastation.service.interaction.entity.InteractionArtifact;
+import org.fairdatatrain.fairdatastation.service.interaction.entity.InteractionArtifactSink;
 import org.fairdatatrain.fairdatastation.service.interaction.fetch.TrainFetcher;
 import org.fairdatatrain.fairdatastation.service.interaction.train.AbstractTrainInteraction;
 import org.fairdatatrain.fairdatastation.service.interaction.train.ITrainInteraction;
 import org.fairdatatrain.fairdatastation.service.storage.TripleStoreStorage;
+import org.fairdatatrain.fairdatastation.service.storage.query.QueryGuard;
+import org.fairdatatrain.fairdatastation.service.storage.query.QueryGuardRegistry;
 import org.springframework.stereotype.Service;
 
-import java.util.List;
+import java.util.Optional;
 
 import static java.lang.String.format;
 import static org.fairdatatrain.fairdatastation.utils.RdfUtils.getStringObjectBy;
@@ -52,6 +54,8 @@ import static org.fairdatatrain.fairdatastation.utils.RdfUtils.getStringObjectBy
 @Service
 public class SPARQLTrainInteraction extends AbstractTrainInteraction implements ITrainInteraction {
 
+    private static final String CHECKPOINT_PAYLOAD = "train payload (SPARQL query)";
+
     private final TripleStoreStorage tripleStoreStorage;
 
     public SPARQLTrainInteraction(
@@ -60,9 +64,11 @@ public class SPARQLTrainInteraction extends AbstractTrainInteraction implements
             JobArtifactService jobArtifactService,
             JobService jobService,
             TrainFetcher trainFetcher,
+            JobCheckpointService jobCheckpointService,
             TripleStoreStorage tripleStoreStorage
     ) {
-        super(accessControlService, jobEventService, jobArtifactService, jobService, trainFetcher);
+        super(accessControlService, jobEventService, jobArtifactService, jobService, trainFetcher,
+                jobCheckpointService);
         this.tripleStoreStorage = tripleStoreStorage;
     }
 
@@ -70,51 +76,117 @@ public class SPARQLTrainInteraction extends AbstractTrainInteraction implements
     public void interact(Job job, Model model, Resource train) {
         sendInfo(job, "Processing further as SPARQL train");
         try {
-            final Resource payloadResource = getPayloadMetadataUrl(model, train);
-            sendInfo(job, "Validation: Validating payload resource");
-            validatePayloadResource(payloadResource);
-            sendInfo(job, "Validation: Payload resource validated");
-
-            sendInfo(job, "Fetch: Fetching payload metadata");
-            final Model payloadMetadata = getPayloadMetadata(job, payloadResource);
-            sendInfo(job, "Fetch: Payload metadata fetched");
-
-            sendInfo(job, "Validation: Validating payload metadata");
-            validatePayloadMetadata(job, payloadMetadata, payloadResource);
-            final String payloadDownloadUrl = getPayloadUrl(payloadMetadata, payloadResource);
-            sendInfo(job, "Validation: Payload metadata validated");
-
-            sendInfo(job, "Fetch: Fetching train payload (SPARQL query)");
-            final String sparqlQuery = fetchPayload(payloadDownloadUrl);
-            sendInfo(job, "Fetch: Train payload (SPARQL query) fetched");
-
-            sendInfo(job, "Validation: Validating train payload");
-            validateSparqlQuery(sparqlQuery);
-            sendInfo(job, "Validation: Train payload validated");
+            final String sparqlQuery = prepareQuery(job, model, train);
 
             sendInfo(job, "Access Control: Requesting access to Triple Store");
             checkAccess();
             sendInfo(job, "Access Control: Access to Triple Store granted");
 
-            sendInfo(job, "Execution: Executing query from SPARQL train");
-            final List<InteractionArtifact> results = executeQuery(sparqlQuery);
-            sendInfo(job, "Execution: Processing query result");
-
-            sendInfo(job, "Execution: Preparing and sending artifact(s)");
-            results.forEach(result -> sendArtifact(job, result));
+            if (isStageReached(job, JobStage.EXECUTED)) {
+                sendInfo(job, "Resume: Query already executed and artifact(s) stored");
+            }
+            else {
+                if (!admitQuery(job, sparqlQuery)) {
+                    return;
+                }
+                sendInfo(job, "Execution: Executing query from SPARQL train");
+                final QueryGuard guard = tripleStoreStorage.getQueryGuards().register(job);
+                try {
+                    // query result is streamed directly into artifact storage
+                    executeQuery(sparqlQuery, (artifact, writer) -> {
+                        sendArtifact(job, artifact, writer);
+                    }, guard);
+                }
+                catch (Exception exception) {
+                    if (guard.isCancelled()) {
+                        handleInteractionAborted(job, "Execution: Query cancelled");
+                        return;
+                    }
+                    throw exception;
+                }
+                finally {
+                    tripleStoreStorage.getQueryGuards().unregister(job);
+                }
+                sendInfo(job, "Execution: Query result stored as artifact(s)");
+                reachStage(job, JobStage.EXECUTED);
+            }
 
             getJobEventService().createEvent(job, "Finished!", JobStatus.FINISHED);
             getJobService().updateStatus(job, JobStatus.FINISHED);
         }
+        catch (JobAbortedException exception) {
+            handleInteractionAborted(job, exception.getMessage());
+        }
         catch (Exception exception) {
             handleInteractionFailed(job, exception.getMessage());
         }
     }
 
-    private List<InteractionArtifact> executeQuery(String sparqlQuery) {
+    private String prepareQuery(Job job, Model model, Resource train) {
+        final Optional<String> validatedQuery =
+                loadCheckpoint(job, JobStage.PAYLOAD_VALIDATED, CHECKPOINT_PAYLOAD);
+        if (validatedQuery.isPresent()) {
+            return validatedQuery.get();
+        }
+
+        final String sparqlQuery = checkpoint(job, JobStage.PAYLOAD_FETCHED, CHECKPOINT_PAYLOAD,
+                () -> fetchQuery(job, model, train));
+
+        sendInfo(job, "Validation: Validating train payload");
+        validateSparqlQuery(sparqlQuery);
+        reachStage(job, JobStage.PAYLOAD_VALIDATED);
+        sendInfo(job, "Validation: Train payload validated");
+        return sparqlQuery;
+    }
+
+    private String fetchQuery(Job job, Model model, Resource train) {
+        final Resource payloadResource = getPayloadMetadataUrl(model, train);
+        sendInfo(job, "Validation: Validating payload resource");
+        validatePayloadResource(payloadResource);
+        sendInfo(job, "Validation: Payload resource validated");
+
+        sendInfo(job, "Fetch: Fetching payload metadata");
+        final Model payloadMetadata = getPayloadMetadata(job, payloadResource);
+        sendInfo(job, "Fetch: Payload metadata fetched");
+
+        sendInfo(job, "Validation: Validating payload metadata");
+        validatePayloadMetadata(job, payloadMetadata, payloadResource);
+        final String payloadDownloadUrl = getPayloadUrl(payloadMetadata, payloadResource);
+        sendInfo(job, "Validation: Payload metadata validated");
+
+        sendInfo(job, "Fetch: Fetching train payload (SPARQL query)");
+        final String sparqlQuery = fetchPayload(payloadDownloadUrl);
+        sendInfo(job, "Fetch: Train payload (SPARQL query) fetched");
+        return sparqlQuery;
+    }
+
+    private boolean admitQuery(Job job, String sparqlQuery) throws StorageException {
+        final long cost = tripleStoreStorage.estimateCost(sparqlQuery);
+        sendInfo(job, format("Admission: Estimated query cost %d", cost));
+        final QueryGuardRegistry queryGuards = tripleStoreStorage.getQueryGuards();
+        switch (queryGuards.admit(job, cost)) {
+            case REJECT -> throw new RuntimeException(
+                    "Admission: Estimated query cost exceeds the budget");
+            case LOW_PRIORITY -> {
+                // event only once requeued, failed requeue fails the job
+                getJobService().deferJob(job, queryGuards.getLowPriority());
+                getJobEventService().createEvent(job,
+                        "Admission: Expensive query, job requeued with low priority",
+                        JobStatus.QUEUED);
+                return false;
+            }
+            default -> {
+                return true;
+            }
+        }
+    }
+
+    private void executeQuery(
+            String sparqlQuery, InteractionArtifactSink sink, QueryGuard guard
+    ) {
         try {
             // TODO: set accept + name based on possibilities/train metadata?
-            return tripleStoreStorage.executeQuery(sparqlQuery, "Result", "*/*");
+            tripleStoreStorage.executeQuery(sparqlQuery, "Result", "*/*", sink, guard);
         }
         catch (Exception exception) {
             throw new RuntimeException(format("Execution: Failed to execute SPARQL query (%s)",
@@ -131,11 +203,7 @@ public class SPARQLTrainInteraction extends AbstractTrainInteraction implements
     private void validateSparqlQuery(String sparqlQuery) {
         // parse and check non-updating
         try {
-            final ParsedOperation operation =
-                    QueryParserUtil.parseOperation(QueryLanguage.SPARQL, sparqlQuery, null);
-            if (operation instanceof ParsedUpdate) {
-                throw new RuntimeException("Validation: SPARQL Query not valid (update query)");
-            }
+            tripleStoreStorage.validateQuery(sparqlQuery);
         }
         catch (Exception exception) {
             throw new RuntimeException(format("Validation: SPARQL Query not valid (%s)",
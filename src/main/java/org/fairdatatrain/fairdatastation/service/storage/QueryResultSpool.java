@@ -0,0 +1,114 @@
+/**
+ * The MIT License
+ * Copyright © 2022 FAIR Data Team
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.fairdatatrain.fairdatastation.service.storage;
+
+import lombok.extern.slf4j.Slf4j;
+import org.eclipse.rdf4j.model.impl.SimpleValueFactory;
+import org.eclipse.rdf4j.query.resultio.QueryResultIO;
+import org.eclipse.rdf4j.query.resultio.TupleQueryResultFormat;
+import org.eclipse.rdf4j.query.resultio.TupleQueryResultWriter;
+import org.eclipse.rdf4j.rio.RDFFormat;
+import org.eclipse.rdf4j.rio.RDFHandler;
+import org.eclipse.rdf4j.rio.Rio;
+import org.fairdatatrain.fairdatastation.service.storage.artifact.ArtifactWriter;
+
+import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+// query result kept in temporary file in binary format, deleted when closed
+@Slf4j
+public final class QueryResultSpool implements Closeable {
+
+    private static final String SPOOL_PREFIX = "fds-query-";
+
+    private static final String SPOOL_SUFFIX = ".bin";
+
+    private final Path file;
+
+    private QueryResultSpool(Path file) {
+        this.file = file;
+    }
+
+    private static QueryResultSpool create(ArtifactWriter writer) throws IOException {
+        final QueryResultSpool spool =
+                new QueryResultSpool(Files.createTempFile(SPOOL_PREFIX, SPOOL_SUFFIX));
+        boolean spooled = false;
+        try (OutputStream output = new BufferedOutputStream(Files.newOutputStream(spool.file))) {
+            writer.write(output);
+            spooled = true;
+        }
+        finally {
+            if (!spooled) {
+                spool.close();
+            }
+        }
+        return spool;
+    }
+
+    public static QueryResultSpool ofTuples(TupleQueryResultEvaluation evaluation)
+            throws IOException {
+        return create(output -> {
+            evaluation.evaluate(
+                    QueryResultIO.createTupleWriter(TupleQueryResultFormat.BINARY, output));
+        });
+    }
+
+    public static QueryResultSpool ofGraph(GraphQueryResultEvaluation evaluation)
+            throws IOException {
+        return create(output -> evaluation.evaluate(Rio.createWriter(RDFFormat.BINARY, output)));
+    }
+
+    public void transcode(TupleQueryResultWriter writer) throws IOException {
+        try (InputStream input = new BufferedInputStream(Files.newInputStream(file))) {
+            QueryResultIO.parseTuple(input, TupleQueryResultFormat.BINARY, writer,
+                    SimpleValueFactory.getInstance());
+        }
+    }
+
+    public void transcode(RDFHandler writer) throws IOException {
+        try (InputStream input = new BufferedInputStream(Files.newInputStream(file))) {
+            Rio.createParser(RDFFormat.BINARY).setRDFHandler(writer).parse(input);
+        }
+    }
+
+    @Override
+    public void close() {
+        try {
+            Files.deleteIfExists(file);
+        }
+        catch (IOException exception) {
+            log.warn("Failed to delete query result spool {}: {}", file, exception.getMessage());
+        }
+    }
+
+    @FunctionalInterface
+    public interface TupleQueryResultEvaluation {
+        void evaluate(TupleQueryResultWriter writer);
+    }
+
+    @FunctionalInterface
+    public interface GraphQueryResultEvaluation {
+        void evaluate(RDFHandler writer);
+    }
+}
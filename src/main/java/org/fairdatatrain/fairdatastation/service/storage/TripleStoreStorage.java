@@ -31,15 +31,20 @@ import org.eclipse.rdf4j.repository.Repository;
 import org.eclipse.rdf4j.repository.RepositoryConnection;
 import org.eclipse.rdf4j.repository.RepositoryException;
 import org.eclipse.rdf4j.rio.RDFFormat;
-import org.eclipse.rdf4j.rio.RDFHandler;
 import org.eclipse.rdf4j.rio.Rio;
 import org.fairdatatrain.fairdatastation.exception.StorageException;
 import org.fairdatatrain.fairdatastation.service.interaction.entity.InteractionArtifact;
+import org.fairdatatrain.fairdatastation.service.interaction.entity.InteractionArtifactSink;
+import org.fairdatatrain.fairdatastation.service.storage.cache.ParsedQueryCache;
+import org.fairdatatrain.fairdatastation.service.storage.cache.QueryResultCache;
+import org.fairdatatrain.fairdatastation.service.storage.cache.QueryResultCache.CachedResult;
+import org.fairdatatrain.fairdatastation.service.storage.query.QueryCostEstimator;
+import org.fairdatatrain.fairdatastation.service.storage.query.QueryGuard;
+import org.fairdatatrain.fairdatastation.service.storage.query.QueryGuardRegistry;
 import org.springframework.stereotype.Service;
 import org.springframework.util.MimeTypeUtils;
 
-import java.io.ByteArrayOutputStream;
-import java.nio.charset.StandardCharsets;
+import java.io.IOException;
 import java.util.*;
 import java.util.stream.Collectors;
 
@@ -53,36 +58,68 @@ public class TripleStoreStorage {
 
     private final Repository repository;
 
+    private final QueryResultCache queryResultCache;
+
+    private final QueryGuardRegistry queryGuardRegistry;
+
+    private final QueryCostEstimator queryCostEstimator;
+
+    private final ParsedQueryCache parsedQueryCache;
+
     public boolean isReady() {
         return repository != null;
     }
 
-    public List<InteractionArtifact> executeQuery(
-            String sparqlQuery, String name, String accept
+    public QueryGuardRegistry getQueryGuards() {
+        return queryGuardRegistry;
+    }
+
+    public void validateQuery(String sparqlQuery) {
+        // parsed query is kept for execution, fails for invalid or update query
+        parsedQueryCache.parseQuery(sparqlQuery);
+    }
+
+    public long estimateCost(String sparqlQuery) throws StorageException {
+        try (RepositoryConnection connection = repository.getConnection()) {
+            return queryCostEstimator.estimate(parsedQueryCache.parseQuery(sparqlQuery),
+                    connection);
+        }
+        catch (RepositoryException exception) {
+            throw new StorageException(exception.getMessage());
+        }
+    }
+
+    public void executeQuery(
+            String sparqlQuery, String name, String accept, InteractionArtifactSink sink,
+            QueryGuard guard
     ) throws StorageException {
-        return executeQuery(sparqlQuery, name, Set.of(accept));
+        executeQuery(sparqlQuery, name, Set.of(accept), sink, guard);
     }
 
-    public List<InteractionArtifact> executeQuery(
-            String sparqlQuery, String name, Set<String> accept
+    public void executeQuery(
+            String sparqlQuery, String name, Set<String> accept, InteractionArtifactSink sink,
+            QueryGuard guard
     ) throws StorageException {
         if (accept.isEmpty()) {
-            return List.of();
+            return;
         }
+        final String cacheKey =
+                queryResultCache.computeKey(parsedQueryCache.parseQuery(sparqlQuery));
+        final InteractionArtifactSink limitedSink = limitedSink(sink, guard);
         try (RepositoryConnection connection = repository.getConnection()) {
-            final Query query = connection.prepareQuery(QueryLanguage.SPARQL, sparqlQuery);
+            final Query query = parsedQueryCache.prepare(connection, sparqlQuery);
 
             // SELECT
             if (query instanceof final TupleQuery selectQuery) {
-                return evaluateQuery(selectQuery, name, accept);
+                evaluateQuery(selectQuery, name, accept, limitedSink, cacheKey, guard);
             }
             // ASK
             else if (query instanceof final BooleanQuery askQuery) {
-                return evaluateQuery(askQuery, name, accept);
+                evaluateQuery(askQuery, name, accept, limitedSink, cacheKey, guard);
             }
             // DESCRIBE / CONSTRUCT
             else if (query instanceof final GraphQuery graphQuery) {
-                return evaluateQuery(graphQuery, name, accept);
+                evaluateQuery(graphQuery, name, accept, limitedSink, cacheKey, guard);
             }
             // Other (e.g. UPDATE)
             else {
@@ -95,11 +132,12 @@ public class TripleStoreStorage {
         }
     }
 
-    private List<InteractionArtifact> evaluateQuery(
-            TupleQuery query, String name, Set<String> accept
-    ) {
-        final Set<TupleQueryResultFormat> formats = accept
-                .parallelStream()
+    private void evaluateQuery(
+            TupleQuery query, String name, Set<String> accept, InteractionArtifactSink sink,
+            String cacheKey, QueryGuard guard
+    ) throws StorageException {
+        final Set<TupleQueryResultFormat> accepted = accept
+                .stream()
                 .map(QueryResultIO::getWriterFormatForMIMEType)
                 .filter(Optional::isPresent)
                 .map(Optional::get)
@@ -107,19 +145,42 @@ public class TripleStoreStorage {
                 .map(format -> (TupleQueryResultFormat) format)
                 .collect(Collectors.toSet());
         if (accept.contains(MimeTypeUtils.ALL_VALUE)) {
-            formats.add(TupleQueryResultFormat.JSON);
+            accepted.add(TupleQueryResultFormat.JSON);
+        }
+        final Set<TupleQueryResultFormat> formats =
+                serveFromCache(cacheKey, accepted, name, sink, guard);
+        if (formats.isEmpty()) {
+            return;
+        }
+        final InteractionArtifactSink resultSink = cachingSink(cacheKey, sink, guard);
+        if (formats.size() == 1) {
+            // result is streamed to the sink
+            final TupleQueryResultFormat format = formats.iterator().next();
+            resultSink.accept(prepareArtifact(name, format), output -> {
+                guard.evaluate(query, QueryResultIO.createTupleWriter(format, output));
+            });
+            return;
+        }
+        // evaluated only once, spooled in binary format and transcoded for each format
+        try (QueryResultSpool spool =
+                     QueryResultSpool.ofTuples(writer -> guard.evaluate(query, writer))) {
+            for (TupleQueryResultFormat format : formats) {
+                resultSink.accept(prepareArtifact(name, format), output -> {
+                    spool.transcode(QueryResultIO.createTupleWriter(format, output));
+                });
+            }
+        }
+        catch (IOException exception) {
+            throw spoolFailed(exception);
         }
-        return formats
-                .parallelStream()
-                .map(format -> getQueryResult(query, name, format))
-                .toList();
     }
 
-    private List<InteractionArtifact> evaluateQuery(
-            BooleanQuery query, String name, Set<String> accept
-    ) {
-        final Set<BooleanQueryResultFormat> formats = accept
-                .parallelStream()
+    private void evaluateQuery(
+            BooleanQuery query, String name, Set<String> accept, InteractionArtifactSink sink,
+            String cacheKey, QueryGuard guard
+    ) throws StorageException {
+        final Set<BooleanQueryResultFormat> accepted = accept
+                .stream()
                 .map(QueryResultIO::getBooleanParserFormatForMIMEType)
                 .filter(Optional::isPresent)
                 .map(Optional::get)
@@ -127,63 +188,119 @@ public class TripleStoreStorage {
                 .map(format -> (BooleanQueryResultFormat) format)
                 .collect(Collectors.toSet());
         if (accept.contains(MimeTypeUtils.ALL_VALUE)) {
-            formats.add(BooleanQueryResultFormat.TEXT);
+            accepted.add(BooleanQueryResultFormat.TEXT);
+        }
+        final Set<BooleanQueryResultFormat> formats =
+                serveFromCache(cacheKey, accepted, name, sink, guard);
+        if (formats.isEmpty()) {
+            return;
         }
-        return formats
-                .parallelStream()
-                .map(format -> getQueryResult(query, name, format))
-                .toList();
+        final InteractionArtifactSink resultSink = cachingSink(cacheKey, sink, guard);
+        final boolean result = guard.evaluate(query);
+        formats.forEach(format -> {
+            resultSink.accept(prepareArtifact(name, format), output -> {
+                QueryResultIO.createBooleanWriter(format, output).handleBoolean(result);
+            });
+        });
     }
 
-    private List<InteractionArtifact> evaluateQuery(
-            GraphQuery query, String name, Set<String> accept
-    ) {
-        final Set<RDFFormat> formats = accept
-                .parallelStream()
+    private void evaluateQuery(
+            GraphQuery query, String name, Set<String> accept, InteractionArtifactSink sink,
+            String cacheKey, QueryGuard guard
+    ) throws StorageException {
+        final Set<RDFFormat> accepted = accept
+                .stream()
                 .map(Rio::getParserFormatForMIMEType)
                 .filter(Optional::isPresent)
                 .map(Optional::get)
                 .collect(Collectors.toSet());
         if (accept.contains(MimeTypeUtils.ALL_VALUE)) {
-            formats.add(RDFFormat.TURTLE);
+            accepted.add(RDFFormat.TURTLE);
+        }
+        final Set<RDFFormat> formats = serveFromCache(cacheKey, accepted, name, sink, guard);
+        if (formats.isEmpty()) {
+            return;
+        }
+        final InteractionArtifactSink resultSink = cachingSink(cacheKey, sink, guard);
+        if (formats.size() == 1) {
+            final RDFFormat format = formats.iterator().next();
+            resultSink.accept(prepareArtifact(name, format), output -> {
+                guard.evaluate(query, Rio.createWriter(format, output));
+            });
+            return;
+        }
+        try (QueryResultSpool spool =
+                     QueryResultSpool.ofGraph(writer -> guard.evaluate(query, writer))) {
+            for (RDFFormat format : formats) {
+                resultSink.accept(prepareArtifact(name, format), output -> {
+                    spool.transcode(Rio.createWriter(format, output));
+                });
+            }
+        }
+        catch (IOException exception) {
+            throw spoolFailed(exception);
         }
-        return formats
-                .parallelStream()
-                .map(format -> getQueryResult(query, name, format))
-                .toList();
     }
 
-    private InteractionArtifact getQueryResult(
-            TupleQuery query, String name, TupleQueryResultFormat format
-    ) {
-        final ByteArrayOutputStream bao = new ByteArrayOutputStream();
-        final TupleQueryResultWriter writer = QueryResultIO.createTupleWriter(format, bao);
-        query.evaluate(writer);
-        return createArtifact(name, format, bao.toString().getBytes(StandardCharsets.UTF_8));
+    private <F extends FileFormat> Set<F> serveFromCache(
+            String cacheKey, Set<F> formats, String name, InteractionArtifactSink sink,
+            QueryGuard guard
+    ) throws StorageException {
+        if (cacheKey == null) {
+            return formats;
+        }
+        final Set<F> missing = new HashSet<>();
+        for (F format : formats) {
+            final Optional<CachedResult> cached;
+            try {
+                cached = queryResultCache.get(cacheKey, format.getDefaultMIMEType());
+            }
+            catch (IOException exception) {
+                throw new StorageException(
+                        format("Failed to read cached query result: %s", exception.getMessage()));
+            }
+            if (cached.isPresent()) {
+                log.debug("Using cached query result ({})", format.getName());
+                guard.checkRows(cached.get().getRows());
+                sink.accept(prepareArtifact(name, format), cached.get().getWriter());
+            }
+            else {
+                missing.add(format);
+            }
+        }
+        return missing;
     }
 
-    private InteractionArtifact getQueryResult(
-            BooleanQuery query, String name, BooleanQueryResultFormat format
+    private InteractionArtifactSink cachingSink(
+            String cacheKey, InteractionArtifactSink sink, QueryGuard guard
     ) {
-        final ByteArrayOutputStream bao = new ByteArrayOutputStream();
-        final BooleanQueryResultWriter writer = QueryResultIO.createBooleanWriter(format, bao);
-        writer.handleBoolean(query.evaluate());
-        return createArtifact(name, format, bao.toString().getBytes(StandardCharsets.UTF_8));
+        if (cacheKey == null) {
+            return sink;
+        }
+        // created before evaluation, the result rows are counted by the guard from now
+        final long startRows = guard.getRows();
+        return (artifact, writer) -> {
+            sink.accept(artifact, queryResultCache.caching(cacheKey, artifact.getContentType(),
+                    writer, () -> guard.getRows() - startRows));
+        };
+    }
+
+    private InteractionArtifactSink limitedSink(InteractionArtifactSink sink, QueryGuard guard) {
+        return (artifact, writer) -> {
+            sink.accept(artifact, output -> writer.write(guard.limit(output)));
+        };
     }
 
-    private InteractionArtifact getQueryResult(GraphQuery query, String name, RDFFormat format) {
-        final ByteArrayOutputStream bao = new ByteArrayOutputStream();
-        final RDFHandler writer = Rio.createWriter(format, bao);
-        query.evaluate(writer);
-        return createArtifact(name, format, bao.toString().getBytes(StandardCharsets.UTF_8));
+    private StorageException spoolFailed(IOException exception) {
+        return new StorageException(
+                format("Failed to spool query result: %s", exception.getMessage()));
     }
 
-    private InteractionArtifact createArtifact(String name, FileFormat format, byte[] data) {
+    private InteractionArtifact prepareArtifact(String name, FileFormat format) {
         return InteractionArtifact.builder()
                 .name(format("%s (%s)", name, format.getName()))
                 .filename(format("%s.%s", sanitizeFilename(name), format.getDefaultFileExtension()))
                 .contentType(format.getDefaultMIMEType())
-                .data(data)
                 .build();
     }
 
@@ -0,0 +1,116 @@
+/**
+ * The MIT License
+ * Copyright © 2022 FAIR Data Team
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.fairdatatrain.fairdatastation.service.storage.artifact;
+
+import lombok.RequiredArgsConstructor;
+import org.fairdatatrain.fairdatastation.config.properties.ArtifactProperties;
+import org.fairdatatrain.fairdatastation.data.model.enums.ArtifactStorage;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.List;
+
+import static java.lang.String.format;
+
+@Component
+@RequiredArgsConstructor
+public class ArtifactStoragePolicy {
+
+    private final ArtifactProperties artifactProperties;
+
+    private final List<ArtifactStore> artifactStores;
+
+    public ArtifactStore getStore(ArtifactStorage storage) {
+        return artifactStores
+                .stream()
+                .filter(store -> store.getStorage().equals(storage))
+                .findFirst()
+                .orElseThrow(() -> {
+                    return new RuntimeException(
+                            format("Unsupported artifact storage: %s", storage)
+                    );
+                });
+    }
+
+    public AbstractArtifactUpload startUpload() throws IOException {
+        final ArtifactStore store = getStore(artifactProperties.getStorage());
+        final ArtifactStorage largeStorage = artifactProperties.getLargeStorage();
+        if (largeStorage == null || largeStorage.equals(store.getStorage())) {
+            return store.startUpload();
+        }
+        return new ThresholdUpload(store, getStore(largeStorage),
+                artifactProperties.getLargeThreshold().toBytes());
+    }
+
+    // keeps data in memory until the threshold is exceeded, then continues in large storage
+    @RequiredArgsConstructor
+    private static final class ThresholdUpload extends AbstractArtifactUpload {
+
+        private final ArtifactStore store;
+
+        private final ArtifactStore largeStore;
+
+        private final long threshold;
+
+        private final ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+
+        private AbstractArtifactUpload target;
+
+        @Override
+        public void write(int b) throws IOException {
+            write(new byte[]{(byte) b}, 0, 1);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            if (target == null && buffer.size() + len > threshold) {
+                target = largeStore.startUpload();
+                buffer.writeTo(target);
+                buffer.reset();
+            }
+            if (target == null) {
+                buffer.write(b, off, len);
+            }
+            else {
+                target.write(b, off, len);
+            }
+        }
+
+        @Override
+        public StoredArtifact complete() throws IOException {
+            if (target == null) {
+                target = store.startUpload();
+                buffer.writeTo(target);
+            }
+            return target.complete();
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (target != null) {
+                target.close();
+            }
+        }
+    }
+}
@@ -0,0 +1,127 @@
+/**
+ * The MIT License
+ * Copyright © 2022 FAIR Data Team
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.fairdatatrain.fairdatastation.service.storage.artifact;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.fairdatatrain.fairdatastation.config.properties.ArtifactProperties;
+import org.fairdatatrain.fairdatastation.data.model.enums.ArtifactStorage;
+import org.fairdatatrain.fairdatastation.data.model.event.JobArtifact;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.UUID;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class LocalFsArtifactStore implements ArtifactStore {
+
+    private static final String PART_SUFFIX = ".part";
+
+    private final ArtifactProperties artifactProperties;
+
+    @Override
+    public ArtifactStorage getStorage() {
+        return ArtifactStorage.LOCALFS;
+    }
+
+    @Override
+    public AbstractArtifactUpload startUpload() throws IOException {
+        final String location = UUID.randomUUID().toString();
+        final Path target = resolve(location);
+        final Path part = target.resolveSibling(location + PART_SUFFIX);
+        Files.createDirectories(target.getParent());
+        return new LocalFsUpload(location, target, part,
+                new BufferedOutputStream(Files.newOutputStream(part)));
+    }
+
+    @Override
+    public InputStream open(JobArtifact artifact) throws IOException {
+        return Files.newInputStream(resolve(artifact.getLocation()));
+    }
+
+    @Override
+    public Resource getResource(JobArtifact artifact) {
+        // file resources are written using zero-copy transfer
+        return new FileSystemResource(resolve(artifact.getLocation()));
+    }
+
+    @Override
+    public void delete(StoredArtifact storedArtifact) throws IOException {
+        Files.deleteIfExists(resolve(storedArtifact.getLocation()));
+    }
+
+    private Path resolve(String location) {
+        return Path.of(artifactProperties.getLocalfs().getDir()).resolve(location);
+    }
+
+    @RequiredArgsConstructor
+    private final class LocalFsUpload extends AbstractArtifactUpload {
+
+        private final String location;
+
+        private final Path target;
+
+        private final Path part;
+
+        private final OutputStream output;
+
+        @Override
+        public void write(int b) throws IOException {
+            output.write(b);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            output.write(b, off, len);
+        }
+
+        @Override
+        public StoredArtifact complete() throws IOException {
+            output.close();
+            // file appears only when completely written
+            Files.move(part, target, StandardCopyOption.ATOMIC_MOVE);
+            log.debug("Stored artifact data to {}", target);
+            return StoredArtifact
+                    .builder()
+                    .storage(getStorage())
+                    .location(location)
+                    .build();
+        }
+
+        @Override
+        public void close() throws IOException {
+            output.close();
+            Files.deleteIfExists(part);
+        }
+    }
+}
@@ -0,0 +1,102 @@
+/**
+ * The MIT License
+ * Copyright © 2022 FAIR Data Team
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.fairdatatrain.fairdatastation.service.storage.artifact;
+
+import lombok.RequiredArgsConstructor;
+import org.fairdatatrain.fairdatastation.data.model.enums.ArtifactStorage;
+import org.fairdatatrain.fairdatastation.data.model.event.JobArtifact;
+import org.fairdatatrain.fairdatastation.data.model.event.JobArtifactData;
+import org.fairdatatrain.fairdatastation.data.repository.event.JobArtifactDataRepository;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+
+import static java.lang.String.format;
+
+@Component
+@RequiredArgsConstructor
+public class PostgresArtifactStore implements ArtifactStore {
+
+    private final JobArtifactDataRepository jobArtifactDataRepository;
+
+    @Override
+    public ArtifactStorage getStorage() {
+        return ArtifactStorage.POSTGRES;
+    }
+
+    @Override
+    public AbstractArtifactUpload startUpload() {
+        final ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        return new AbstractArtifactUpload() {
+            @Override
+            public void write(int b) {
+                buffer.write(b);
+            }
+
+            @Override
+            public void write(byte[] b, int off, int len) {
+                buffer.write(b, off, len);
+            }
+
+            @Override
+            public StoredArtifact complete() {
+                return StoredArtifact
+                        .builder()
+                        .storage(getStorage())
+                        .data(buffer.toByteArray())
+                        .build();
+            }
+        };
+    }
+
+    @Override
+    public InputStream open(JobArtifact artifact) {
+        return new ByteArrayInputStream(loadData(artifact));
+    }
+
+    @Override
+    public Resource getResource(JobArtifact artifact) {
+        return new ByteArrayResource(loadData(artifact));
+    }
+
+    @Override
+    public void delete(StoredArtifact storedArtifact) {
+        // nothing stored outside of the artifact entity
+    }
+
+    private byte[] loadData(JobArtifact artifact) {
+        // data are stored by JobArtifactService together with the artifact
+        return jobArtifactDataRepository
+                .findByJobArtifact(artifact)
+                .map(JobArtifactData::getData)
+                .orElseThrow(() -> {
+                    return new RuntimeException(
+                            format("Missing data of artifact %s", artifact.getUuid())
+                    );
+                });
+    }
+}
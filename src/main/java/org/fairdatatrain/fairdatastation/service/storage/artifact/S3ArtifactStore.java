@@ -0,0 +1,301 @@
+/**
+ * The MIT License
+ * Copyright © 2022 FAIR Data Team
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.fairdatatrain.fairdatastation.service.storage.artifact;
+
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.fairdatatrain.fairdatastation.config.properties.ArtifactProperties;
+import org.fairdatatrain.fairdatastation.config.properties.ArtifactS3Properties;
+import org.fairdatatrain.fairdatastation.data.model.enums.ArtifactStorage;
+import org.fairdatatrain.fairdatastation.data.model.event.JobArtifact;
+import org.springframework.core.io.AbstractResource;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Component;
+import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
+import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
+import software.amazon.awssdk.core.exception.SdkException;
+import software.amazon.awssdk.core.sync.RequestBody;
+import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.S3ClientBuilder;
+import software.amazon.awssdk.services.s3.model.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static java.lang.String.format;
+import static org.springframework.util.StringUtils.hasText;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class S3ArtifactStore implements ArtifactStore {
+
+    // minimal size of all parts except the last one required by S3
+    private static final int MIN_PART_SIZE = 5 * 1024 * 1024;
+
+    private final ArtifactProperties artifactProperties;
+
+    private S3Client client;
+
+    @Override
+    public ArtifactStorage getStorage() {
+        return ArtifactStorage.S3;
+    }
+
+    @Override
+    public AbstractArtifactUpload startUpload() {
+        final int partSize = (int) Math.max(
+                artifactProperties.getS3Storage().getPartSize().toBytes(), MIN_PART_SIZE);
+        return new S3Upload(UUID.randomUUID().toString(), new byte[partSize]);
+    }
+
+    @Override
+    public InputStream open(JobArtifact artifact) throws IOException {
+        try {
+            return getClient().getObject(GetObjectRequest
+                    .builder()
+                    .bucket(getBucket())
+                    .key(artifact.getLocation())
+                    .build());
+        }
+        catch (SdkException exception) {
+            throw new IOException(format("Failed to read S3 object %s: %s",
+                    artifact.getLocation(), exception.getMessage()), exception);
+        }
+    }
+
+    @Override
+    public Resource getResource(JobArtifact artifact) {
+        // object is requested only when the resource is read (as file resources)
+        return new AbstractResource() {
+            @Override
+            public String getDescription() {
+                return format("S3 object [%s]", artifact.getLocation());
+            }
+
+            @Override
+            public InputStream getInputStream() throws IOException {
+                return open(artifact);
+            }
+        };
+    }
+
+    @Override
+    public void delete(StoredArtifact storedArtifact) throws IOException {
+        try {
+            getClient().deleteObject(DeleteObjectRequest
+                    .builder()
+                    .bucket(getBucket())
+                    .key(storedArtifact.getLocation())
+                    .build());
+        }
+        catch (SdkException exception) {
+            throw new IOException(format("Failed to delete S3 object %s: %s",
+                    storedArtifact.getLocation(), exception.getMessage()), exception);
+        }
+    }
+
+    @PreDestroy
+    public synchronized void close() {
+        if (client != null) {
+            client.close();
+        }
+    }
+
+    private String getBucket() {
+        return artifactProperties.getS3Storage().getBucket();
+    }
+
+    private synchronized S3Client getClient() {
+        // created on first use as S3 does not have to be configured
+        if (client == null) {
+            final ArtifactS3Properties properties = artifactProperties.getS3Storage();
+            final S3ClientBuilder builder = S3Client
+                    .builder()
+                    .region(Region.of(properties.getRegion()))
+                    .forcePathStyle(properties.isPathStyleAccess());
+            if (hasText(properties.getEndpoint())) {
+                builder.endpointOverride(URI.create(properties.getEndpoint()));
+            }
+            if (hasText(properties.getAccessKey())) {
+                builder.credentialsProvider(StaticCredentialsProvider.create(
+                        AwsBasicCredentials.create(
+                                properties.getAccessKey(), properties.getSecretKey())));
+            }
+            client = builder.build();
+        }
+        return client;
+    }
+
+    @RequiredArgsConstructor
+    private final class S3Upload extends AbstractArtifactUpload {
+
+        private final String key;
+
+        private final byte[] buffer;
+
+        private final List<CompletedPart> parts = new ArrayList<>();
+
+        private int position;
+
+        // started only when data do not fit into single part
+        private String uploadId;
+
+        private boolean completed;
+
+        @Override
+        public void write(int b) throws IOException {
+            if (position == buffer.length) {
+                uploadPart();
+            }
+            buffer[position++] = (byte) b;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            int offset = off;
+            int remaining = len;
+            while (remaining > 0) {
+                if (position == buffer.length) {
+                    uploadPart();
+                }
+                final int count = Math.min(remaining, buffer.length - position);
+                System.arraycopy(b, offset, buffer, position, count);
+                position += count;
+                offset += count;
+                remaining -= count;
+            }
+        }
+
+        @Override
+        public StoredArtifact complete() throws IOException {
+            if (uploadId == null) {
+                putObject();
+            }
+            else {
+                if (position > 0) {
+                    uploadPart();
+                }
+                completeMultipartUpload();
+            }
+            completed = true;
+            log.debug("Stored artifact data to S3 object {} ({} parts)", key, parts.size());
+            return StoredArtifact
+                    .builder()
+                    .storage(getStorage())
+                    .location(key)
+                    .build();
+        }
+
+        @Override
+        public void close() {
+            if (completed || uploadId == null) {
+                return;
+            }
+            try {
+                getClient().abortMultipartUpload(AbortMultipartUploadRequest
+                        .builder()
+                        .bucket(getBucket())
+                        .key(key)
+                        .uploadId(uploadId)
+                        .build());
+            }
+            catch (SdkException exception) {
+                log.warn("Failed to abort S3 upload {}: {}", uploadId, exception.getMessage());
+            }
+        }
+
+        private void putObject() throws IOException {
+            try {
+                getClient().putObject(
+                        PutObjectRequest.builder().bucket(getBucket()).key(key).build(),
+                        bufferedBody());
+            }
+            catch (SdkException exception) {
+                throw failure(exception);
+            }
+        }
+
+        private void uploadPart() throws IOException {
+            try {
+                if (uploadId == null) {
+                    uploadId = getClient().createMultipartUpload(CreateMultipartUploadRequest
+                            .builder()
+                            .bucket(getBucket())
+                            .key(key)
+                            .build()).uploadId();
+                }
+                final int partNumber = parts.size() + 1;
+                final UploadPartResponse response = getClient().uploadPart(UploadPartRequest
+                        .builder()
+                        .bucket(getBucket())
+                        .key(key)
+                        .uploadId(uploadId)
+                        .partNumber(partNumber)
+                        .build(), bufferedBody());
+                parts.add(CompletedPart
+                        .builder()
+                        .partNumber(partNumber)
+                        .eTag(response.eTag())
+                        .build());
+                position = 0;
+            }
+            catch (SdkException exception) {
+                throw failure(exception);
+            }
+        }
+
+        private void completeMultipartUpload() throws IOException {
+            try {
+                getClient().completeMultipartUpload(CompleteMultipartUploadRequest
+                        .builder()
+                        .bucket(getBucket())
+                        .key(key)
+                        .uploadId(uploadId)
+                        .multipartUpload(CompletedMultipartUpload.builder().parts(parts).build())
+                        .build());
+            }
+            catch (SdkException exception) {
+                throw failure(exception);
+            }
+        }
+
+        // failures are reported as by other stores, the upload is aborted when closed
+        private IOException failure(SdkException exception) {
+            return new IOException(format("Failed to store S3 object %s: %s",
+                    key, exception.getMessage()), exception);
+        }
+
+        private RequestBody bufferedBody() {
+            return RequestBody.fromInputStream(
+                    new ByteArrayInputStream(buffer, 0, position), position);
+        }
+    }
+}
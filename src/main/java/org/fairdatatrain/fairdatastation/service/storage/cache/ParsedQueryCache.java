@@ -0,0 +1,123 @@
+/**
+ * The MIT License
+ * Copyright © 2022 FAIR Data Team
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.fairdatatrain.fairdatastation.service.storage.cache;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.eclipse.rdf4j.query.MalformedQueryException;
+import org.eclipse.rdf4j.query.Query;
+import org.eclipse.rdf4j.query.QueryLanguage;
+import org.eclipse.rdf4j.query.parser.*;
+import org.eclipse.rdf4j.repository.RepositoryConnection;
+import org.eclipse.rdf4j.repository.sail.SailBooleanQuery;
+import org.eclipse.rdf4j.repository.sail.SailGraphQuery;
+import org.eclipse.rdf4j.repository.sail.SailRepositoryConnection;
+import org.eclipse.rdf4j.repository.sail.SailTupleQuery;
+import org.fairdatatrain.fairdatastation.config.properties.QueryProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.fairdatatrain.fairdatastation.utils.HashUtils.sha256;
+
+// parsed SPARQL by hash of the query text, shared by validation, estimation and execution
+@Component
+public class ParsedQueryCache {
+
+    private static final String METRIC_REQUESTS = "fds.query.parsed.requests";
+
+    private static final String METRIC_RESULT = "result";
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    private static final float LOAD_FACTOR = 0.75f;
+
+    private final int maxEntries;
+
+    // in access order, so the eldest entry is the least recently used one
+    private final Map<String, ParsedOperation> entries;
+
+    private final Counter hits;
+
+    private final Counter misses;
+
+    public ParsedQueryCache(QueryProperties properties, MeterRegistry meterRegistry) {
+        this.maxEntries = properties.getParsedCacheSize();
+        this.entries = new LinkedHashMap<>(INITIAL_CAPACITY, LOAD_FACTOR, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, ParsedOperation> eldest) {
+                return size() > maxEntries;
+            }
+        };
+        this.hits = Counter.builder(METRIC_REQUESTS).tag(METRIC_RESULT, "hit")
+                .register(meterRegistry);
+        this.misses = Counter.builder(METRIC_REQUESTS).tag(METRIC_RESULT, "miss")
+                .register(meterRegistry);
+    }
+
+    public ParsedOperation parse(String sparqlQuery) throws MalformedQueryException {
+        final String key = sha256(sparqlQuery);
+        synchronized (this) {
+            final ParsedOperation operation = entries.get(key);
+            if (operation != null) {
+                hits.increment();
+                return operation;
+            }
+        }
+        misses.increment();
+        // parsed model is never modified, evaluation optimizes a copy of it
+        final ParsedOperation operation =
+                QueryParserUtil.parseOperation(QueryLanguage.SPARQL, sparqlQuery, null);
+        if (maxEntries > 0) {
+            synchronized (this) {
+                entries.put(key, operation);
+            }
+        }
+        return operation;
+    }
+
+    public ParsedQuery parseQuery(String sparqlQuery) throws MalformedQueryException {
+        if (parse(sparqlQuery) instanceof ParsedQuery parsedQuery) {
+            return parsedQuery;
+        }
+        throw new MalformedQueryException("update query");
+    }
+
+    public Query prepare(RepositoryConnection connection, String sparqlQuery) {
+        final ParsedQuery parsedQuery = parseQuery(sparqlQuery);
+        // local stores evaluate the cached model, others get the query text
+        if (connection instanceof SailRepositoryConnection sailConnection) {
+            if (parsedQuery instanceof ParsedTupleQuery tupleQuery) {
+                return new SailTupleQuery(tupleQuery, sailConnection) { };
+            }
+            if (parsedQuery instanceof ParsedBooleanQuery booleanQuery) {
+                return new SailBooleanQuery(booleanQuery, sailConnection) { };
+            }
+            if (parsedQuery instanceof ParsedGraphQuery graphQuery) {
+                return new SailGraphQuery(graphQuery, sailConnection) { };
+            }
+        }
+        return connection.prepareQuery(QueryLanguage.SPARQL, sparqlQuery);
+    }
+}
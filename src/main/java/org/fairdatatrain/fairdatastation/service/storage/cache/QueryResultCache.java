@@ -0,0 +1,329 @@
+/**
+ * The MIT License
+ * Copyright © 2022 FAIR Data Team
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.fairdatatrain.fairdatastation.service.storage.cache;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.eclipse.rdf4j.query.parser.ParsedQuery;
+import org.eclipse.rdf4j.repository.Repository;
+import org.eclipse.rdf4j.repository.sail.SailRepository;
+import org.eclipse.rdf4j.sail.NotifyingSail;
+import org.fairdatatrain.fairdatastation.config.properties.QueryCacheProperties;
+import org.fairdatatrain.fairdatastation.service.storage.artifact.ArtifactWriter;
+import org.springframework.stereotype.Component;
+
+import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+import static org.fairdatatrain.fairdatastation.utils.HashUtils.sha256;
+
+@Slf4j
+@Component
+public class QueryResultCache {
+
+    private static final String METRIC_REQUESTS = "fds.query.cache.requests";
+
+    private static final String METRIC_RESULT = "result";
+
+    private static final String SPILL_PREFIX = "fds-cache-";
+
+    private static final String SPILL_SUFFIX = ".bin";
+
+    private static final float LOAD_FACTOR = 0.75f;
+
+    private final QueryCacheProperties properties;
+
+    // incremented when data in the triple store change
+    private final AtomicLong revision = new AtomicLong();
+
+    // in access order, so the eldest entry is the least recently used one
+    private final Map<String, CacheEntry> entries = new LinkedHashMap<>(16, LOAD_FACTOR, true);
+
+    private long totalSize;
+
+    private final Counter hits;
+
+    private final Counter misses;
+
+    public QueryResultCache(
+            QueryCacheProperties properties, MeterRegistry meterRegistry, Repository repository
+    ) {
+        this.properties = properties;
+        // local stores notify about changes, remote ones rely on TTL of cached results
+        if (repository instanceof SailRepository sailRepository
+                && sailRepository.getSail() instanceof NotifyingSail notifyingSail) {
+            notifyingSail.addSailChangedListener(event -> {
+                if (event.statementsAdded() || event.statementsRemoved()) {
+                    invalidate();
+                }
+            });
+        }
+        this.hits = Counter.builder(METRIC_REQUESTS).tag(METRIC_RESULT, "hit")
+                .register(meterRegistry);
+        this.misses = Counter.builder(METRIC_REQUESTS).tag(METRIC_RESULT, "miss")
+                .register(meterRegistry);
+        Gauge.builder("fds.query.cache.entries", this, QueryResultCache::getEntryCount)
+                .register(meterRegistry);
+        Gauge.builder("fds.query.cache.size", this, QueryResultCache::getTotalSize)
+                .baseUnit("bytes")
+                .register(meterRegistry);
+    }
+
+    public String computeKey(ParsedQuery parsedQuery) {
+        if (!properties.isEnabled()) {
+            return null;
+        }
+        // normalized by parsing, whitespace, comments or prefixes do not matter
+        return sha256(parsedQuery.getTupleExpr().toString() + parsedQuery.getDataset());
+    }
+
+    public void invalidate() {
+        revision.incrementAndGet();
+    }
+
+    public synchronized Optional<CachedResult> get(String key, String contentType)
+            throws IOException {
+        final String entryKey = entryKey(key, contentType);
+        final CacheEntry entry = entries.get(entryKey);
+        if (entry == null || !isValid(entry)) {
+            if (entry != null) {
+                remove(entryKey);
+            }
+            misses.increment();
+            return Optional.empty();
+        }
+        hits.increment();
+        if (entry.getData() != null) {
+            return Optional.of(new CachedResult(
+                    output -> output.write(entry.getData()), entry.getRows()));
+        }
+        // opened now so that eviction of the entry does not affect reading
+        final InputStream input = Files.newInputStream(entry.getFile());
+        return Optional.of(new CachedResult(output -> {
+            try (input) {
+                input.transferTo(output);
+            }
+        }, entry.getRows()));
+    }
+
+    // rows are read once the writer is done, limits are checked with them when served
+    public ArtifactWriter caching(
+            String key, String contentType, ArtifactWriter writer, LongSupplier rows
+    ) {
+        final long entryRevision = revision.get();
+        return output -> {
+            try (CachingOutputStream cachingOutput = new CachingOutputStream(output)) {
+                writer.write(cachingOutput);
+                cachingOutput.flush();
+                final CacheEntry entry = cachingOutput.toEntry(entryRevision, rows.getAsLong());
+                if (entry != null) {
+                    put(entryKey(key, contentType), entry);
+                }
+            }
+        };
+    }
+
+    @PreDestroy
+    public synchronized void clear() {
+        entries.values().forEach(this::release);
+        entries.clear();
+        totalSize = 0;
+    }
+
+    private synchronized int getEntryCount() {
+        return entries.size();
+    }
+
+    private synchronized long getTotalSize() {
+        return totalSize;
+    }
+
+    private synchronized void put(String entryKey, CacheEntry entry) {
+        remove(entryKey);
+        entries.put(entryKey, entry);
+        totalSize += entry.getSize();
+        final Iterator<Map.Entry<String, CacheEntry>> iterator = entries.entrySet().iterator();
+        while (iterator.hasNext() && (entries.size() > properties.getMaxEntries()
+                || totalSize > properties.getMaxSize().toBytes())) {
+            final CacheEntry eldest = iterator.next().getValue();
+            iterator.remove();
+            totalSize -= eldest.getSize();
+            release(eldest);
+        }
+    }
+
+    private void remove(String entryKey) {
+        final CacheEntry entry = entries.remove(entryKey);
+        if (entry != null) {
+            totalSize -= entry.getSize();
+            release(entry);
+        }
+    }
+
+    private boolean isValid(CacheEntry entry) {
+        return entry.getRevision() == revision.get()
+                && Instant.now().isBefore(entry.getCreatedAt().plus(properties.getTtl()));
+    }
+
+    private void release(CacheEntry entry) {
+        if (entry.getFile() != null) {
+            deleteFile(entry.getFile());
+        }
+    }
+
+    private static void deleteFile(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        }
+        catch (IOException exception) {
+            log.warn("Failed to delete cached query result {}: {}", file, exception.getMessage());
+        }
+    }
+
+    private static String entryKey(String key, String contentType) {
+        return key + "|" + contentType;
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static final class CachedResult {
+
+        private final ArtifactWriter writer;
+
+        // solutions or statements of the result
+        private final long rows;
+    }
+
+    @Getter
+    @AllArgsConstructor
+    private static final class CacheEntry {
+
+        private final byte[] data;
+
+        private final Path file;
+
+        private final long size;
+
+        private final long rows;
+
+        private final long revision;
+
+        private final Instant createdAt;
+    }
+
+    // passes data through while keeping a copy (in memory, on disk, or none if too large)
+    private final class CachingOutputStream extends FilterOutputStream {
+
+        private ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+
+        private Path file;
+
+        private OutputStream fileOutput;
+
+        private long size;
+
+        private boolean discarded;
+
+        private CachingOutputStream(OutputStream out) {
+            super(out);
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            write(new byte[]{(byte) b}, 0, 1);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+            if (discarded) {
+                return;
+            }
+            size += len;
+            if (size > properties.getMaxEntrySize().toBytes()) {
+                discard();
+                return;
+            }
+            if (buffer != null && size > properties.getMemoryThreshold().toBytes()) {
+                file = Files.createTempFile(SPILL_PREFIX, SPILL_SUFFIX);
+                fileOutput = new BufferedOutputStream(Files.newOutputStream(file));
+                buffer.writeTo(fileOutput);
+                buffer = null;
+            }
+            if (buffer != null) {
+                buffer.write(b, off, len);
+            }
+            else {
+                fileOutput.write(b, off, len);
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            // the target stream belongs to the caller
+            flush();
+            if (fileOutput != null) {
+                // writing failed, no entry was created
+                fileOutput.close();
+                deleteFile(file);
+            }
+        }
+
+        private CacheEntry toEntry(long entryRevision, long rows) throws IOException {
+            if (discarded) {
+                return null;
+            }
+            if (fileOutput != null) {
+                fileOutput.close();
+            }
+            // ownership of the file goes to the cache entry
+            final CacheEntry entry = new CacheEntry(buffer == null ? null : buffer.toByteArray(),
+                    file, size, rows, entryRevision, Instant.now());
+            fileOutput = null;
+            return entry;
+        }
+
+        private void discard() throws IOException {
+            discarded = true;
+            buffer = null;
+            if (fileOutput != null) {
+                fileOutput.close();
+                deleteFile(file);
+                fileOutput = null;
+            }
+        }
+    }
+}
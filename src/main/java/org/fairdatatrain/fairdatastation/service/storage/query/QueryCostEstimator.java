@@ -0,0 +1,289 @@
+/**
+ * The MIT License
+ * Copyright © 2022 FAIR Data Team
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.fairdatatrain.fairdatastation.service.storage.query;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.eclipse.rdf4j.model.IRI;
+import org.eclipse.rdf4j.model.Literal;
+import org.eclipse.rdf4j.model.Resource;
+import org.eclipse.rdf4j.model.Statement;
+import org.eclipse.rdf4j.model.Value;
+import org.eclipse.rdf4j.query.TupleQueryResult;
+import org.eclipse.rdf4j.query.algebra.*;
+import org.eclipse.rdf4j.query.algebra.helpers.AbstractQueryModelVisitor;
+import org.eclipse.rdf4j.query.parser.ParsedQuery;
+import org.eclipse.rdf4j.repository.Repository;
+import org.eclipse.rdf4j.repository.RepositoryConnection;
+import org.eclipse.rdf4j.repository.RepositoryException;
+import org.eclipse.rdf4j.repository.RepositoryResult;
+import org.eclipse.rdf4j.repository.sail.SailRepository;
+import org.eclipse.rdf4j.rio.ntriples.NTriplesUtil;
+import org.fairdatatrain.fairdatastation.config.properties.QueryProperties;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.StreamSupport;
+
+import static java.lang.String.format;
+
+// estimated cost is the largest (intermediate) result in rows based on store statistics
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class QueryCostEstimator {
+
+    private static final long UNKNOWN_SIZE_FACTOR = 1_000;
+
+    private final QueryProperties queryProperties;
+
+    private final Repository repository;
+
+    // counting the whole store is expensive (scan or COUNT), so it is refreshed periodically
+    private final AtomicLong storeSize = new AtomicLong(-1);
+
+    @Scheduled(fixedRateString = "${data-station.queries.store-size-refresh:PT10M}")
+    public void refreshStoreSize() {
+        try (RepositoryConnection connection = repository.getConnection()) {
+            storeSize.set(connection.size());
+            log.debug("Triple store size for cost estimation: {}", storeSize.get());
+        }
+        catch (RepositoryException exception) {
+            log.warn("Failed to determine triple store size: {}", exception.getMessage());
+        }
+    }
+
+    public long estimate(ParsedQuery parsedQuery, RepositoryConnection connection) {
+        final CostVisitor visitor = new CostVisitor(connection);
+        visitor.cardinalityOf(parsedQuery.getTupleExpr());
+        return (long) visitor.getMaxCardinality();
+    }
+
+    private final class CostVisitor extends AbstractQueryModelVisitor<RuntimeException> {
+
+        private final RepositoryConnection connection;
+
+        private final Map<List<Value>, Long> counts = new HashMap<>();
+
+        private double cardinality;
+
+        private double maxCardinality;
+
+        private CostVisitor(RepositoryConnection connection) {
+            this.connection = connection;
+        }
+
+        private double getMaxCardinality() {
+            return maxCardinality;
+        }
+
+        private double cardinalityOf(TupleExpr expr) {
+            expr.visit(this);
+            maxCardinality = Math.max(maxCardinality, cardinality);
+            return cardinality;
+        }
+
+        @Override
+        public void meet(StatementPattern node) {
+            cardinality = count(node);
+        }
+
+        @Override
+        public void meet(Join node) {
+            cardinality = join(node);
+        }
+
+        @Override
+        public void meet(LeftJoin node) {
+            cardinality = join(node);
+        }
+
+        @Override
+        public void meet(Union node) {
+            cardinality = cardinalityOf(node.getLeftArg()) + cardinalityOf(node.getRightArg());
+        }
+
+        @Override
+        public void meet(ArbitraryLengthPath node) {
+            // transitive closure may grow quadratically
+            final double pathCardinality = cardinalityOf(node.getPathExpression());
+            cardinality = pathCardinality * pathCardinality;
+        }
+
+        @Override
+        public void meet(BindingSetAssignment node) {
+            cardinality = StreamSupport.stream(node.getBindingSets().spliterator(), false).count();
+        }
+
+        @Override
+        public void meet(ZeroLengthPath node) {
+            cardinality = 1;
+        }
+
+        @Override
+        public void meet(SingletonSet node) {
+            cardinality = 1;
+        }
+
+        @Override
+        public void meet(EmptySet node) {
+            cardinality = 0;
+        }
+
+        @Override
+        public void meet(Service node) {
+            // evaluated remotely, not by the store
+            cardinality = 1;
+        }
+
+        @Override
+        protected void meetBinaryTupleOperator(BinaryTupleOperator node) {
+            // e.g. MINUS, both sides evaluated
+            cardinality = Math.max(cardinalityOf(node.getLeftArg()),
+                    cardinalityOf(node.getRightArg()));
+        }
+
+        @Override
+        protected void meetNode(QueryModelNode node) {
+            // e.g. FILTER, BIND, projection or aggregation, work given by argument
+            if (node instanceof UnaryTupleOperator operator) {
+                cardinality = cardinalityOf(operator.getArg());
+            }
+            else {
+                super.meetNode(node);
+            }
+        }
+
+        private double join(BinaryTupleOperator node) {
+            final double left = cardinalityOf(node.getLeftArg());
+            final double right = cardinalityOf(node.getRightArg());
+            final Set<String> shared = variables(node.getLeftArg());
+            shared.retainAll(variables(node.getRightArg()));
+            // without shared variable every combination is produced (cartesian product)
+            return shared.isEmpty() ? left * right : Math.max(left, right);
+        }
+
+        private Set<String> variables(TupleExpr expr) {
+            // constants are represented as variables with value
+            final Set<String> names = new HashSet<>(expr.getBindingNames());
+            expr.visit(new AbstractQueryModelVisitor<RuntimeException>() {
+                @Override
+                public void meet(Var node) {
+                    if (node.hasValue()) {
+                        names.remove(node.getName());
+                    }
+                }
+            });
+            return names;
+        }
+
+        private long count(StatementPattern node) {
+            final Value subject = valueOf(node.getSubjectVar());
+            final Value predicate = valueOf(node.getPredicateVar());
+            final Value object = valueOf(node.getObjectVar());
+            final Value context = valueOf(node.getContextVar());
+            if (subject == null && predicate == null && object == null && context == null) {
+                return size();
+            }
+            if (!isMatchable(subject, predicate, context)) {
+                return 0;
+            }
+            return counts.computeIfAbsent(Arrays.asList(subject, predicate, object, context),
+                    key -> countMatches(subject, predicate, object, context));
+        }
+
+        private long countMatches(Value subject, Value predicate, Value object, Value context) {
+            // remote store counts on its side, statements are not transferred
+            final long matches = repository instanceof SailRepository
+                    ? countLocalMatches(subject, predicate, object, context)
+                    : countRemoteMatches(subject, predicate, object, context);
+            // counted only up to the limit, whole store is the upper bound
+            return matches < queryProperties.getStatisticsLimit() ? matches : size();
+        }
+
+        private long countLocalMatches(
+                Value subject, Value predicate, Value object, Value context
+        ) {
+            final Resource[] contexts = context == null
+                    ? new Resource[0] : new Resource[]{(Resource) context};
+            final long limit = queryProperties.getStatisticsLimit();
+            long matches = 0;
+            try (RepositoryResult<Statement> statements = connection.getStatements(
+                    (Resource) subject, (IRI) predicate, object, false, contexts)) {
+                while (matches < limit && statements.hasNext()) {
+                    statements.next();
+                    matches++;
+                }
+            }
+            return matches;
+        }
+
+        private long countRemoteMatches(
+                Value subject, Value predicate, Value object, Value context
+        ) {
+            final String pattern = format("%s %s %s",
+                    term(subject, "?s"), term(predicate, "?p"), term(object, "?o"));
+            final String query = format(
+                    "SELECT (COUNT(*) AS ?n) WHERE { SELECT * WHERE { %s } LIMIT %d }",
+                    context == null ? pattern : format("GRAPH %s { %s }", term(context, "?g"),
+                            pattern),
+                    queryProperties.getStatisticsLimit());
+            try (TupleQueryResult result = connection.prepareTupleQuery(query).evaluate()) {
+                if (!result.hasNext()) {
+                    return 0;
+                }
+                final Value count = result.next().getValue("n");
+                return count instanceof Literal literal ? literal.longValue() : 0;
+            }
+        }
+
+        private String term(Value value, String variable) {
+            return value == null ? variable : NTriplesUtil.toNTriplesString(value);
+        }
+
+        private Value valueOf(Var variable) {
+            return variable == null ? null : variable.getValue();
+        }
+
+        private boolean isMatchable(Value subject, Value predicate, Value context) {
+            return (subject == null || subject.isResource())
+                    && (predicate == null || predicate.isIRI())
+                    && (context == null || context.isResource());
+        }
+
+        private long size() {
+            // not known yet, any pattern exceeding the limit is assumed to be large
+            final long size = storeSize.get();
+            return size < 0
+                    ? queryProperties.getStatisticsLimit() * UNKNOWN_SIZE_FACTOR
+                    : Math.max(size, queryProperties.getStatisticsLimit());
+        }
+    }
+}
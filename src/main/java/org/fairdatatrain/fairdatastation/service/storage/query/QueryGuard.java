@@ -0,0 +1,238 @@
+/**
+ * The MIT License
+ * Copyright © 2022 FAIR Data Team
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.fairdatatrain.fairdatastation.service.storage.query;
+
+import org.eclipse.rdf4j.model.Statement;
+import org.eclipse.rdf4j.query.*;
+import org.eclipse.rdf4j.rio.RDFHandler;
+import org.eclipse.rdf4j.rio.helpers.RDFHandlerWrapper;
+import org.springframework.util.unit.DataSize;
+
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static java.lang.String.format;
+
+// limits and cancellation of query evaluation (shared by all queries of a job)
+public class QueryGuard {
+
+    private final Duration maxExecutionTime;
+
+    private final long maxRows;
+
+    private final long maxBytes;
+
+    private final AtomicBoolean cancelled = new AtomicBoolean(false);
+
+    private final AtomicLong rows = new AtomicLong();
+
+    private final AtomicReference<AutoCloseable> running = new AtomicReference<>();
+
+    public QueryGuard(Duration maxExecutionTime, long maxRows, DataSize maxBytes) {
+        this.maxExecutionTime = maxExecutionTime;
+        this.maxRows = maxRows;
+        this.maxBytes = maxBytes.toBytes();
+    }
+
+    public static QueryGuard unlimited() {
+        return new QueryGuard(Duration.ZERO, 0, DataSize.ofBytes(0));
+    }
+
+    public boolean isCancelled() {
+        return cancelled.get();
+    }
+
+    public void cancel() {
+        cancelled.set(true);
+        // closing the result from another thread interrupts the evaluation
+        final AutoCloseable result = running.get();
+        if (result != null) {
+            try {
+                result.close();
+            }
+            catch (Exception exception) {
+                // evaluating thread fails anyway
+            }
+        }
+    }
+
+    public boolean evaluate(BooleanQuery query) {
+        prepare(query);
+        return query.evaluate();
+    }
+
+    public void evaluate(TupleQuery query, QueryResultHandler handler) {
+        prepare(query);
+        try (TupleQueryResult result = query.evaluate()) {
+            running.set(result);
+            checkCancelled();
+            QueryResults.report(result, new GuardedResultHandler(handler));
+        }
+        catch (QueryEvaluationException exception) {
+            checkCancelled();
+            throw exception;
+        }
+        finally {
+            running.set(null);
+        }
+        checkCancelled();
+    }
+
+    public void evaluate(GraphQuery query, RDFHandler handler) {
+        prepare(query);
+        try (GraphQueryResult result = query.evaluate()) {
+            running.set(result);
+            checkCancelled();
+            QueryResults.report(result, new GuardedRDFHandler(handler));
+        }
+        catch (QueryEvaluationException exception) {
+            checkCancelled();
+            throw exception;
+        }
+        finally {
+            running.set(null);
+        }
+        checkCancelled();
+    }
+
+    public long getRows() {
+        return rows.get();
+    }
+
+    // result served without evaluation (e.g. from cache) must fit the limit as well
+    public void checkRows(long resultRows) {
+        checkCancelled();
+        if (maxRows > 0 && resultRows > maxRows) {
+            throw new QueryInterruptedException(
+                    format("Query result exceeds limit of %d rows", maxRows));
+        }
+    }
+
+    public OutputStream limit(OutputStream output) {
+        // each output (result format) is limited on its own
+        return new LimitedOutputStream(output);
+    }
+
+    private void prepare(Operation query) {
+        checkCancelled();
+        if (!maxExecutionTime.isZero()) {
+            query.setMaxExecutionTime((int) Math.max(1, maxExecutionTime.toSeconds()));
+        }
+    }
+
+    private void checkCancelled() {
+        if (cancelled.get()) {
+            throw new QueryInterruptedException("Query evaluation cancelled");
+        }
+    }
+
+    private void countRow() {
+        // counted even without limit, results are cached with their number of rows
+        checkRows(rows.incrementAndGet());
+    }
+
+    private void checkBytes(long written) {
+        checkCancelled();
+        if (maxBytes > 0 && written > maxBytes) {
+            throw new QueryInterruptedException(
+                    format("Query result exceeds limit of %s", DataSize.ofBytes(maxBytes)));
+        }
+    }
+
+    private final class GuardedResultHandler implements QueryResultHandler {
+
+        private final QueryResultHandler handler;
+
+        private GuardedResultHandler(QueryResultHandler handler) {
+            this.handler = handler;
+        }
+
+        @Override
+        public void handleBoolean(boolean value) {
+            handler.handleBoolean(value);
+        }
+
+        @Override
+        public void handleLinks(List<String> linkUrls) {
+            handler.handleLinks(linkUrls);
+        }
+
+        @Override
+        public void startQueryResult(List<String> bindingNames) {
+            handler.startQueryResult(bindingNames);
+        }
+
+        @Override
+        public void endQueryResult() {
+            handler.endQueryResult();
+        }
+
+        @Override
+        public void handleSolution(BindingSet bindingSet) {
+            countRow();
+            handler.handleSolution(bindingSet);
+        }
+    }
+
+    private final class GuardedRDFHandler extends RDFHandlerWrapper {
+
+        private GuardedRDFHandler(RDFHandler handler) {
+            super(handler);
+        }
+
+        @Override
+        public void handleStatement(Statement statement) {
+            countRow();
+            super.handleStatement(statement);
+        }
+    }
+
+    private final class LimitedOutputStream extends FilterOutputStream {
+
+        private long written;
+
+        private LimitedOutputStream(OutputStream output) {
+            super(output);
+        }
+
+        @Override
+        public void write(int value) throws IOException {
+            written++;
+            checkBytes(written);
+            out.write(value);
+        }
+
+        @Override
+        public void write(byte[] buffer, int offset, int length) throws IOException {
+            written += length;
+            checkBytes(written);
+            out.write(buffer, offset, length);
+        }
+    }
+}
@@ -0,0 +1,104 @@
+/**
+ * The MIT License
+ * Copyright © 2022 FAIR Data Team
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.fairdatatrain.fairdatastation.service.storage.query;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.fairdatatrain.fairdatastation.config.properties.QueryOriginProperties;
+import org.fairdatatrain.fairdatastation.config.properties.QueryProperties;
+import org.fairdatatrain.fairdatastation.data.model.event.Job;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class QueryGuardRegistry {
+
+    private final QueryProperties queryProperties;
+
+    private final Map<UUID, QueryGuard> guards = new ConcurrentHashMap<>();
+
+    // cancelled before their query was registered (e.g. while fetching the payload)
+    private final Set<UUID> pendingCancels = ConcurrentHashMap.newKeySet();
+
+    public QueryAdmission admit(Job job, long cost) {
+        final QueryOriginProperties limits = queryProperties.getOrigin(job.getOrigin());
+        if (limits.getMaxCost() > 0 && cost > limits.getMaxCost()) {
+            return QueryAdmission.REJECT;
+        }
+        // requeued only once, the job is already in the lane when resumed
+        if (limits.getLowPriorityCost() > 0 && cost > limits.getLowPriorityCost()
+                && job.getPriority() > queryProperties.getLowPriority()) {
+            return QueryAdmission.LOW_PRIORITY;
+        }
+        return QueryAdmission.ACCEPT;
+    }
+
+    public int getLowPriority() {
+        return queryProperties.getLowPriority();
+    }
+
+    public QueryGuard register(Job job) {
+        final QueryOriginProperties limits = queryProperties.getOrigin(job.getOrigin());
+        final QueryGuard guard = new QueryGuard(
+                limits.getMaxExecutionTime(),
+                limits.getMaxResultRows(),
+                limits.getMaxResultSize()
+        );
+        guards.put(job.getUuid(), guard);
+        if (pendingCancels.remove(job.getUuid())) {
+            log.info("Cancelling query of job {} (requested before execution)", job.getUuid());
+            guard.cancel();
+        }
+        return guard;
+    }
+
+    public void unregister(Job job) {
+        guards.remove(job.getUuid());
+        pendingCancels.remove(job.getUuid());
+    }
+
+    // only queries running in this instance can be cancelled
+    public boolean cancel(UUID jobUuid) {
+        final QueryGuard guard = guards.get(jobUuid);
+        if (guard == null) {
+            pendingCancels.add(jobUuid);
+            return false;
+        }
+        log.info("Cancelling query of job {}", jobUuid);
+        guard.cancel();
+        return true;
+    }
+
+    // aborting jobs of this instance, pending cancels of other jobs are dropped
+    public void cancelAll(Collection<UUID> jobUuids) {
+        pendingCancels.retainAll(jobUuids);
+        jobUuids.forEach(this::cancel);
+    }
+}
@@ -22,6 +22,10 @@
  */
 package org.fairdatatrain.fairdatastation.utils;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
 public class HashUtils {
     private static final int MASK = 0xff;
 
@@ -36,4 +40,14 @@ public class HashUtils {
         }
         return hexString.toString();
     }
+
+    public static String sha256(String value) {
+        try {
+            return bytesToHex(MessageDigest.getInstance("SHA-256")
+                    .digest(value.getBytes(StandardCharsets.UTF_8)));
+        }
+        catch (NoSuchAlgorithmException exception) {
+            throw new RuntimeException("SHA-256 hashing is not supported");
+        }
+    }
 }
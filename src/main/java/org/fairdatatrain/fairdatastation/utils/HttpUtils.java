@@ -22,6 +22,8 @@
  */
 package org.fairdatatrain.fairdatastation.utils;
 
+import java.net.URI;
+
 public class HttpUtils {
 
     private static final String URL_SEP = "/";
@@ -33,4 +35,16 @@ public class HttpUtils {
         }
         return fixedUrl;
     }
+
+    public static String getHost(String url) {
+        if (url == null) {
+            return null;
+        }
+        try {
+            return URI.create(url).getHost();
+        }
+        catch (IllegalArgumentException exception) {
+            return null;
+        }
+    }
 }
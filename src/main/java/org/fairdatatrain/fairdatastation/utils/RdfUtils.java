@@ -33,15 +33,21 @@ import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 import java.util.Optional;
 
+import static java.lang.String.format;
+
 public class RdfUtils {
 
     private static final String PREFIX_SEP = ":";
 
     private static final WriterConfig WRITER_CONFIG = new WriterConfig();
 
+    private static final List<Namespace> WRITER_NAMESPACES =
+            List.of(DCTERMS.NS, DCAT.NS, FOAF.NS, XSD.NS, LDP.NS);
+
     static {
         WRITER_CONFIG.set(BasicWriterSettings.INLINE_BLANK_NODES, true);
     }
@@ -100,11 +106,18 @@ public class RdfUtils {
     }
 
     public static Model read(String content, String baseUri, RDFFormat format) {
-        try (InputStream inputStream = new ByteArrayInputStream(content.getBytes())) {
+        return read(
+                new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8)), baseUri, format
+        );
+    }
+
+    public static Model read(InputStream content, String baseUri, RDFFormat format) {
+        try (InputStream inputStream = content) {
             return Rio.parse(inputStream, baseUri, format);
         }
         catch (IOException exception) {
-            throw new RuntimeException("Unable to read RDF (IO exception)");
+            throw new RuntimeException(
+                    format("Unable to read RDF (IO exception: %s)", exception.getMessage()));
         }
         catch (RDFParseException exception) {
             throw new RuntimeException("Unable to read RDF (parse exception)");
@@ -119,14 +132,18 @@ public class RdfUtils {
     }
 
     public static String write(Model model, RDFFormat format) {
-        model.setNamespace(DCTERMS.NS);
-        model.setNamespace(DCAT.NS);
-        model.setNamespace(FOAF.NS);
-        model.setNamespace(XSD.NS);
-        model.setNamespace(LDP.NS);
-
         try (StringWriter out = new StringWriter()) {
-            Rio.write(model, out, format, WRITER_CONFIG);
+            // namespaces added to output only, model may be shared and read-only
+            final RDFWriter writer = Rio.createWriter(format, out).setWriterConfig(WRITER_CONFIG);
+            writer.startRDF();
+            for (Namespace namespace : model.getNamespaces()) {
+                writer.handleNamespace(namespace.getPrefix(), namespace.getName());
+            }
+            for (Namespace namespace : WRITER_NAMESPACES) {
+                writer.handleNamespace(namespace.getPrefix(), namespace.getName());
+            }
+            model.forEach(writer::handleStatement);
+            writer.endRDF();
             return out.toString();
         }
         catch (IOException exception) {
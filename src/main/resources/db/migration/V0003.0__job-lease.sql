@@ -0,0 +1,5 @@
+ALTER TABLE job
+    ADD COLUMN lease_owner      TEXT,
+    ADD COLUMN lease_expires_at TIMESTAMP;
+
+CREATE INDEX job_status_created_at_idx ON job (status, created_at);
@@ -0,0 +1,29 @@
+CREATE TYPE job_stage AS ENUM (
+    'TRAIN_FETCHED',
+    'PAYLOAD_FETCHED',
+    'PAYLOAD_VALIDATED',
+    'EXECUTED'
+    );
+
+CREATE CAST (character varying AS job_stage) WITH INOUT AS ASSIGNMENT;
+
+ALTER TABLE job
+    ADD COLUMN stage    job_stage,
+    ADD COLUMN attempts INT NOT NULL DEFAULT 0;
+
+CREATE TABLE IF NOT EXISTS job_checkpoint
+(
+    uuid       UUID      NOT NULL
+        CONSTRAINT job_checkpoint_pk PRIMARY KEY,
+    stage      job_stage NOT NULL,
+    name       VARCHAR   NOT NULL,
+    content    TEXT      NOT NULL,
+    job_id     UUID      NOT NULL,
+    created_at TIMESTAMP NOT NULL,
+    updated_at TIMESTAMP NOT NULL
+);
+
+ALTER TABLE ONLY job_checkpoint
+    ADD CONSTRAINT job_checkpoint_job_fk FOREIGN KEY (job_id) REFERENCES job (uuid);
+
+CREATE UNIQUE INDEX job_checkpoint_job_name_idx ON job_checkpoint (job_id, name);
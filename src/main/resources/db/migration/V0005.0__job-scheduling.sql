@@ -0,0 +1,8 @@
+ALTER TABLE job
+    ADD COLUMN origin   TEXT NOT NULL DEFAULT '',
+    ADD COLUMN priority INT  NOT NULL DEFAULT 0;
+
+UPDATE job
+SET origin = COALESCE(substring(callback_event FROM '^[A-Za-z][A-Za-z0-9+.-]*://([^/:?#]+)'), '');
+
+CREATE INDEX job_origin_status_idx ON job (origin, status);
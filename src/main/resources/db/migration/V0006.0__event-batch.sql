@@ -0,0 +1,2 @@
+ALTER TABLE job
+    ADD COLUMN callback_event_batch BOOLEAN NOT NULL DEFAULT FALSE;
@@ -0,0 +1,2 @@
+ALTER TABLE job_artifact
+    ADD COLUMN location TEXT;
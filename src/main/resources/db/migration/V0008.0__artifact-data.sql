@@ -0,0 +1,22 @@
+CREATE TABLE IF NOT EXISTS job_artifact_data
+(
+    uuid            UUID      NOT NULL
+        CONSTRAINT job_artifact_data_pk PRIMARY KEY,
+    data            BYTEA     NOT NULL,
+    job_artifact_id UUID      NOT NULL,
+    created_at      TIMESTAMP NOT NULL,
+    updated_at      TIMESTAMP NOT NULL
+);
+
+ALTER TABLE ONLY job_artifact_data
+    ADD CONSTRAINT job_artifact_data_job_artifact_fk FOREIGN KEY (job_artifact_id) REFERENCES job_artifact (uuid);
+
+CREATE UNIQUE INDEX job_artifact_data_job_artifact_idx ON job_artifact_data (job_artifact_id);
+
+INSERT INTO job_artifact_data (uuid, data, job_artifact_id, created_at, updated_at)
+SELECT gen_random_uuid(), data, uuid, created_at, updated_at
+FROM job_artifact
+WHERE data IS NOT NULL;
+
+ALTER TABLE job_artifact
+    DROP COLUMN data;
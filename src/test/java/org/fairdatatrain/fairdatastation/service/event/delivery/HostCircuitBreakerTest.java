@@ -0,0 +1,170 @@
+/**
+ * The MIT License
+ * Copyright © 2022 FAIR Data Team
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.fairdatatrain.fairdatastation.service.event.delivery;
+
+import org.fairdatatrain.fairdatastation.config.properties.EventProperties;
+import org.fairdatatrain.fairdatastation.service.event.delivery.HostCircuitBreaker.Permission;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+@DisplayName("HostCircuitBreaker")
+public class HostCircuitBreakerTest {
+
+	private static final String HOST = "callback.example.com";
+
+	private static final Duration OPEN_DURATION = Duration.ofMillis(20);
+
+	private EventProperties eventProperties;
+
+	private HostCircuitBreaker circuitBreaker;
+
+	@BeforeEach
+	public void setUp() {
+		eventProperties = new EventProperties();
+		eventProperties.setCircuitFailureThreshold(2);
+		eventProperties.setCircuitOpenDuration(OPEN_DURATION);
+		eventProperties.setCircuitMaxOpenDuration(Duration.ofMinutes(1));
+		circuitBreaker = new HostCircuitBreaker(eventProperties);
+	}
+
+	@Test
+	@DisplayName("Circuit stays closed below failure threshold")
+	public void closedBelowThreshold() {
+		// WHEN:
+		circuitBreaker.onFailure(HOST);
+
+		// THEN:
+		assertThat(circuitBreaker.check(HOST), is(equalTo(Permission.ALLOW)));
+		assertThat(circuitBreaker.getOpenUntil(HOST), is(nullValue()));
+	}
+
+	@Test
+	@DisplayName("Circuit opens when failure threshold is reached")
+	public void opensAtThreshold() {
+		// WHEN:
+		circuitBreaker.onFailure(HOST);
+		circuitBreaker.onFailure(HOST);
+
+		// THEN:
+		assertThat(circuitBreaker.check(HOST), is(equalTo(Permission.DENY)));
+		assertThat(circuitBreaker.getOpenUntil(HOST), is(notNullValue()));
+		assertThat(circuitBreaker.check("other.example.com"), is(equalTo(Permission.ALLOW)));
+	}
+
+	@Test
+	@DisplayName("Only single probe is permitted once the circuit is half-open")
+	public void singleProbe() throws InterruptedException {
+		// GIVEN:
+		openCircuit();
+
+		// WHEN:
+		final Permission first = circuitBreaker.check(HOST);
+		final Permission second = circuitBreaker.check(HOST);
+
+		// THEN:
+		assertThat(first, is(equalTo(Permission.PROBE)));
+		assertThat(second, is(equalTo(Permission.DENY)));
+	}
+
+	@Test
+	@DisplayName("Successful probe closes the circuit")
+	public void probeSuccess() throws InterruptedException {
+		// GIVEN:
+		openCircuit();
+		circuitBreaker.check(HOST);
+
+		// WHEN:
+		circuitBreaker.onSuccess(HOST);
+
+		// THEN:
+		assertThat(circuitBreaker.check(HOST), is(equalTo(Permission.ALLOW)));
+		assertThat(circuitBreaker.getOpenUntil(HOST), is(nullValue()));
+	}
+
+	@Test
+	@DisplayName("Failed probe doubles the open duration")
+	public void probeFailure() throws InterruptedException {
+		// GIVEN:
+		openCircuit();
+		circuitBreaker.check(HOST);
+
+		// WHEN:
+		final Instant before = Instant.now();
+		circuitBreaker.onFailure(HOST);
+		final Instant after = Instant.now();
+
+		// THEN:
+		final Duration doubled = OPEN_DURATION.multipliedBy(2);
+		assertThat(circuitBreaker.getOpenUntil(HOST),
+				is(both(greaterThanOrEqualTo(before.plus(doubled)))
+						.and(lessThanOrEqualTo(after.plus(doubled)))));
+	}
+
+	@Test
+	@DisplayName("Open duration does not exceed the maximum")
+	public void maxOpenDuration() throws InterruptedException {
+		// GIVEN:
+		eventProperties.setCircuitMaxOpenDuration(OPEN_DURATION);
+		openCircuit();
+		circuitBreaker.check(HOST);
+
+		// WHEN:
+		final Instant before = Instant.now();
+		circuitBreaker.onFailure(HOST);
+		final Instant after = Instant.now();
+
+		// THEN:
+		assertThat(circuitBreaker.getOpenUntil(HOST),
+				is(both(greaterThanOrEqualTo(before.plus(OPEN_DURATION)))
+						.and(lessThanOrEqualTo(after.plus(OPEN_DURATION)))));
+	}
+
+	@Test
+	@DisplayName("Failure of request sent before opening does not extend the circuit")
+	public void lateFailure() {
+		// GIVEN:
+		circuitBreaker.onFailure(HOST);
+		circuitBreaker.onFailure(HOST);
+		final Instant openUntil = circuitBreaker.getOpenUntil(HOST);
+
+		// WHEN:
+		circuitBreaker.onFailure(HOST);
+
+		// THEN:
+		assertThat(circuitBreaker.getOpenUntil(HOST), is(equalTo(openUntil)));
+	}
+
+	private void openCircuit() throws InterruptedException {
+		circuitBreaker.onFailure(HOST);
+		circuitBreaker.onFailure(HOST);
+		// wait until half-open
+		Thread.sleep(OPEN_DURATION.multipliedBy(2).toMillis());
+	}
+}
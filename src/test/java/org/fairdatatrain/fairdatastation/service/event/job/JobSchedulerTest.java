@@ -0,0 +1,164 @@
+/**
+ * The MIT License
+ * Copyright © 2022 FAIR Data Team
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.fairdatatrain.fairdatastation.service.event.job;
+
+import org.fairdatatrain.fairdatastation.config.properties.JobOriginProperties;
+import org.fairdatatrain.fairdatastation.config.properties.JobProperties;
+import org.fairdatatrain.fairdatastation.data.model.event.Job;
+import org.fairdatatrain.fairdatastation.data.repository.event.JobRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Timestamp;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@DisplayName("JobScheduler: order of job candidates")
+public class JobSchedulerTest {
+
+	private static final Timestamp NOW = new Timestamp(1_000_000);
+
+	private JobRepository jobRepository;
+
+	private JobProperties jobProperties;
+
+	private JobScheduler jobScheduler;
+
+	@BeforeEach
+	public void setUp() {
+		jobRepository = mock(JobRepository.class);
+		jobProperties = new JobProperties();
+		jobScheduler = new JobScheduler(jobRepository, jobProperties);
+	}
+
+	@Test
+	@DisplayName("Origin with fewer running jobs goes first")
+	public void fewerRunningFirst() {
+		// GIVEN:
+		final Job busy = job("busy", 0, 1);
+		final Job idle = job("idle", 0, 2);
+		givenRunning(Map.of("busy", 2L, "idle", 1L));
+		givenCandidates(busy, idle);
+
+		// WHEN:
+		final List<UUID> candidates = jobScheduler.getCandidates(NOW);
+
+		// THEN:
+		assertThat(candidates, contains(idle.getUuid(), busy.getUuid()));
+	}
+
+	@Test
+	@DisplayName("Running jobs are weighted by origin weight")
+	public void weightedShare() {
+		// GIVEN:
+		final Job heavy = job("heavy", 0, 1);
+		final Job light = job("light", 0, 2);
+		jobProperties.setOrigins(Map.of("heavy", new JobOriginProperties(4, 0)));
+		givenRunning(Map.of("heavy", 3L, "light", 1L));
+		givenCandidates(light, heavy);
+
+		// WHEN:
+		final List<UUID> candidates = jobScheduler.getCandidates(NOW);
+
+		// THEN:
+		assertThat(candidates, contains(heavy.getUuid(), light.getUuid()));
+	}
+
+	@Test
+	@DisplayName("Equal share is decided by priority, then by age")
+	public void priorityThenAge() {
+		// GIVEN:
+		final Job older = job("a", 0, 1);
+		final Job newer = job("b", 0, 2);
+		final Job urgent = job("c", 10, 3);
+		givenRunning(Map.of());
+		givenCandidates(newer, older, urgent);
+
+		// WHEN:
+		final List<UUID> candidates = jobScheduler.getCandidates(NOW);
+
+		// THEN:
+		assertThat(candidates, contains(urgent.getUuid(), older.getUuid(), newer.getUuid()));
+	}
+
+	@Test
+	@DisplayName("Origin at its concurrency limit is skipped")
+	public void concurrencyLimit() {
+		// GIVEN:
+		final Job limited = job("limited", 0, 1);
+		final Job other = job("other", 0, 2);
+		jobProperties.setOrigins(Map.of("limited", new JobOriginProperties(1, 2)));
+		givenRunning(Map.of("limited", 2L, "other", 5L));
+		givenCandidates(limited, other);
+
+		// WHEN:
+		final List<UUID> candidates = jobScheduler.getCandidates(NOW);
+
+		// THEN:
+		assertThat(candidates, contains(other.getUuid()));
+	}
+
+	private void givenRunning(Map<String, Long> running) {
+		final List<JobRepository.OriginCount> counts = running
+				.entrySet()
+				.stream()
+				.map(entry -> originCount(entry.getKey(), entry.getValue()))
+				.toList();
+		when(jobRepository.countRunningByOrigin(any())).thenReturn(counts);
+	}
+
+	private void givenCandidates(Job... jobs) {
+		when(jobRepository.findNextJobPerOrigin(any())).thenReturn(List.of(jobs));
+	}
+
+	private static JobRepository.OriginCount originCount(String origin, long count) {
+		return new JobRepository.OriginCount() {
+			@Override
+			public String getOrigin() {
+				return origin;
+			}
+
+			@Override
+			public Long getCount() {
+				return count;
+			}
+		};
+	}
+
+	private static Job job(String origin, int priority, long createdAt) {
+		final Job job = new Job();
+		job.setUuid(UUID.randomUUID());
+		job.setOrigin(origin);
+		job.setPriority(priority);
+		job.setCreatedAt(new Timestamp(createdAt));
+		return job;
+	}
+}
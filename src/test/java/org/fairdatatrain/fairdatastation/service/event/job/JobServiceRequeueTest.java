@@ -0,0 +1,104 @@
+/**
+ * The MIT License
+ * Copyright © 2022 FAIR Data Team
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.fairdatatrain.fairdatastation.service.event.job;
+
+import org.fairdatatrain.fairdatastation.acceptance.WebIntegrationTest;
+import org.fairdatatrain.fairdatastation.api.dto.event.train.TrainDispatchPayloadDTO;
+import org.fairdatatrain.fairdatastation.data.model.enums.JobStatus;
+import org.fairdatatrain.fairdatastation.data.model.event.Job;
+import org.fairdatatrain.fairdatastation.data.repository.event.JobRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.util.UUID;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+@DisplayName("JobService: returning running jobs to queue")
+public class JobServiceRequeueTest extends WebIntegrationTest {
+
+	@Autowired
+	private JobService jobService;
+
+	@Autowired
+	private JobRepository jobRepository;
+
+	private Job job;
+
+	@BeforeEach
+	public void setUp() {
+		job = jobService.createJobForTrain(TrainDispatchPayloadDTO
+				.builder()
+				.jobUuid(UUID.randomUUID().toString())
+				.secret("secret")
+				.callbackEventLocation("http://localhost/events")
+				.callbackArtifactLocation("http://localhost/artifacts")
+				.trainUri("http://localhost/train")
+				.priority(5)
+				.build());
+	}
+
+	@AfterEach
+	public void tearDown() {
+		jobRepository.deleteById(job.getUuid());
+	}
+
+	@Test
+	@DisplayName("requeued running job is QUEUED without lease")
+	public void requeueJob() {
+		// GIVEN:
+		final Job running = jobService.startJob(job.getUuid()).orElseThrow();
+		assertThat(jobRepository.findById(job.getUuid()).orElseThrow().getStatus(),
+				is(equalTo(JobStatus.RUNNING)));
+
+		// WHEN:
+		jobService.requeueJob(running);
+
+		// THEN:
+		final Job stored = jobRepository.findById(job.getUuid()).orElseThrow();
+		assertThat(stored.getStatus(), is(equalTo(JobStatus.QUEUED)));
+		assertThat(stored.getLeaseOwner(), is(nullValue()));
+		assertThat(stored.getLeaseExpiresAt(), is(nullValue()));
+		assertThat(stored.getAttempts(), is(equalTo(1)));
+	}
+
+	@Test
+	@DisplayName("deferred running job is QUEUED with given priority and attempt returned")
+	public void deferJob() {
+		// GIVEN:
+		final Job running = jobService.startJob(job.getUuid()).orElseThrow();
+
+		// WHEN:
+		jobService.deferJob(running, -10);
+
+		// THEN:
+		final Job stored = jobRepository.findById(job.getUuid()).orElseThrow();
+		assertThat(stored.getStatus(), is(equalTo(JobStatus.QUEUED)));
+		assertThat(stored.getPriority(), is(equalTo(-10)));
+		assertThat(stored.getAttempts(), is(equalTo(0)));
+	}
+}
@@ -0,0 +1,136 @@
+/**
+ * The MIT License
+ * Copyright © 2022 FAIR Data Team
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.fairdatatrain.fairdatastation.service.event.job.artifact;
+
+import org.fairdatatrain.fairdatastation.data.model.enums.ArtifactStorage;
+import org.fairdatatrain.fairdatastation.data.model.event.Job;
+import org.fairdatatrain.fairdatastation.data.model.event.JobArtifact;
+import org.fairdatatrain.fairdatastation.data.repository.event.JobArtifactDataRepository;
+import org.fairdatatrain.fairdatastation.data.repository.event.JobArtifactRepository;
+import org.fairdatatrain.fairdatastation.service.event.delivery.EventDeliveryService;
+import org.fairdatatrain.fairdatastation.service.event.job.JobService;
+import org.fairdatatrain.fairdatastation.service.storage.artifact.AbstractArtifactUpload;
+import org.fairdatatrain.fairdatastation.service.storage.artifact.ArtifactStoragePolicy;
+import org.fairdatatrain.fairdatastation.service.storage.artifact.ArtifactStore;
+import org.fairdatatrain.fairdatastation.service.storage.artifact.StoredArtifact;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.*;
+
+@DisplayName("JobArtifactService: storing artifacts")
+public class JobArtifactServiceTest {
+
+	private static final StoredArtifact STORED_ARTIFACT = StoredArtifact
+			.builder()
+			.storage(ArtifactStorage.LOCALFS)
+			.location("artifact")
+			.build();
+
+	private JobArtifactRepository jobArtifactRepository;
+
+	private ArtifactStore artifactStore;
+
+	private JobArtifactService jobArtifactService;
+
+	private Job job;
+
+	@BeforeEach
+	public void setUp() throws Exception {
+		jobArtifactRepository = mock(JobArtifactRepository.class);
+		artifactStore = mock(ArtifactStore.class);
+		final ArtifactStoragePolicy artifactStoragePolicy = mock(ArtifactStoragePolicy.class);
+		when(artifactStoragePolicy.startUpload()).thenReturn(new TestUpload());
+		when(artifactStoragePolicy.getStore(ArtifactStorage.LOCALFS)).thenReturn(artifactStore);
+		jobArtifactService = new JobArtifactService(jobArtifactRepository,
+				mock(JobArtifactDataRepository.class), new JobArtifactMapper(),
+				mock(JobService.class), mock(EventDeliveryService.class), artifactStoragePolicy,
+				new TransactionTemplate(mock(PlatformTransactionManager.class)));
+		job = new Job();
+		job.setUuid(UUID.randomUUID());
+	}
+
+	@Test
+	@DisplayName("Stored data are deleted when artifact cannot be saved")
+	public void dataDeletedWhenSaveFails() throws Exception {
+		// GIVEN:
+		when(jobArtifactRepository.saveAndFlush(any()))
+				.thenThrow(new DataAccessResourceFailureException("Database unavailable"));
+
+		// WHEN:
+		assertThrows(DataAccessResourceFailureException.class, () -> {
+			jobArtifactService.createArtifact(job, "Result", "result.ttl", "text/turtle",
+					"data".getBytes(StandardCharsets.UTF_8));
+		});
+
+		// THEN:
+		verify(artifactStore).delete(argThat(storedArtifact -> {
+			return storedArtifact.getLocation().equals(STORED_ARTIFACT.getLocation());
+		}));
+	}
+
+	@Test
+	@DisplayName("Stored data are kept when artifact is saved")
+	public void dataKeptWhenSaved() throws Exception {
+		// GIVEN:
+		when(jobArtifactRepository.saveAndFlush(any())).thenAnswer(invocation -> {
+			final JobArtifact jobArtifact = invocation.getArgument(0);
+			jobArtifact.setUuid(UUID.randomUUID());
+			return jobArtifact;
+		});
+
+		// WHEN:
+		jobArtifactService.createArtifact(job, "Result", "result.ttl", "text/turtle",
+				"data".getBytes(StandardCharsets.UTF_8));
+
+		// THEN:
+		verify(jobArtifactRepository).saveAndFlush(any());
+		verify(artifactStore, never()).delete(any());
+	}
+
+	private static final class TestUpload extends AbstractArtifactUpload {
+
+		private final ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+
+		@Override
+		public void write(int b) {
+			buffer.write(b);
+		}
+
+		@Override
+		public StoredArtifact complete() {
+			return STORED_ARTIFACT;
+		}
+	}
+}
@@ -0,0 +1,118 @@
+/**
+ * The MIT License
+ * Copyright © 2022 FAIR Data Team
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.fairdatatrain.fairdatastation.service.event.job.artifact;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import org.fairdatatrain.fairdatastation.api.dto.event.job.artifact.JobArtifactDispatchDTO;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.buffer.DataBufferUtils;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Random;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+@DisplayName("JobArtifactStreamer: streamed artifact envelope")
+public class JobArtifactStreamerTest {
+
+	private final ObjectMapper objectMapper = JsonMapper.builder().findAndAddModules().build();
+
+	private final JobArtifactStreamer streamer = new JobArtifactStreamer(objectMapper);
+
+	@Test
+	@DisplayName("Content length is computed upfront for any data size")
+	public void contentLength() {
+		// data sizes around base64 groups and chunks
+		for (int size : new int[]{0, 1, 2, 3, 4, 49_151, 49_152, 49_153, 100_000}) {
+			// GIVEN:
+			final byte[] data = randomData(size);
+			final byte[] envelope = streamer.prepareEnvelope(dispatchDTO(size));
+
+			// WHEN:
+			final byte[] body = streamBody(envelope, data);
+
+			// THEN:
+			assertThat("size " + size, (long) body.length,
+					is(equalTo(streamer.computeContentLength(envelope, size))));
+		}
+	}
+
+	@Test
+	@DisplayName("Streamed body is the JSON of the DTO with base64 data")
+	public void streamedJson() throws IOException {
+		// GIVEN:
+		final byte[] data = randomData(100_000);
+		final byte[] envelope = streamer.prepareEnvelope(dispatchDTO(data.length));
+
+		// WHEN:
+		final JsonNode json = objectMapper.readTree(streamBody(envelope, data));
+
+		// THEN:
+		assertThat(json.get("filename").asText(), is(equalTo("result.ttl")));
+		assertThat(json.get("bytesize").asLong(), is(equalTo(100_000L)));
+		assertThat(Base64.getDecoder().decode(json.get("base64data").asText()),
+				is(equalTo(data)));
+	}
+
+	private byte[] streamBody(byte[] envelope, byte[] data) {
+		final ByteArrayOutputStream body = new ByteArrayOutputStream();
+		streamer
+				.stream(envelope, () -> new ByteArrayInputStream(data))
+				.doOnNext(buffer -> {
+					final byte[] bytes = new byte[buffer.readableByteCount()];
+					buffer.read(bytes);
+					body.writeBytes(bytes);
+					DataBufferUtils.release(buffer);
+				})
+				.blockLast();
+		return body.toByteArray();
+	}
+
+	private static JobArtifactDispatchDTO dispatchDTO(long bytesize) {
+		return JobArtifactDispatchDTO
+				.builder()
+				.displayName("Result")
+				.filename("result.ttl")
+				.hash("hash")
+				.bytesize(bytesize)
+				.contentType("text/turtle")
+				.occurredAt(Instant.now())
+				.remoteId("remote")
+				.secret("secret")
+				.build();
+	}
+
+	private static byte[] randomData(int size) {
+		final byte[] data = new byte[size];
+		new Random(size).nextBytes(data);
+		return data;
+	}
+}
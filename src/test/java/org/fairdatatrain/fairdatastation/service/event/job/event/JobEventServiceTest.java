@@ -0,0 +1,113 @@
+/**
+ * The MIT License
+ * Copyright © 2022 FAIR Data Team
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.fairdatatrain.fairdatastation.service.event.job.event;
+
+import org.fairdatatrain.fairdatastation.data.model.event.Job;
+import org.fairdatatrain.fairdatastation.data.model.event.JobEvent;
+import org.fairdatatrain.fairdatastation.data.repository.event.JobEventRepository;
+import org.fairdatatrain.fairdatastation.service.event.delivery.EventDeliveryService;
+import org.fairdatatrain.fairdatastation.service.event.job.JobService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.dao.DataAccessResourceFailureException;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@DisplayName("JobEventService: buffered events")
+public class JobEventServiceTest {
+
+	private JobEventRepository jobEventRepository;
+
+	private JobEventService jobEventService;
+
+	private Job job;
+
+	@BeforeEach
+	public void setUp() {
+		jobEventRepository = mock(JobEventRepository.class);
+		jobEventService = new JobEventService(jobEventRepository, new JobEventMapper(),
+				mock(JobService.class), mock(EventDeliveryService.class));
+		job = new Job();
+		job.setUuid(UUID.randomUUID());
+	}
+
+	@Test
+	@DisplayName("Events are kept for next flush when write fails")
+	public void eventsKeptWhenWriteFails() {
+		// GIVEN:
+		when(jobEventRepository.saveAll(any()))
+				.thenThrow(new DataAccessResourceFailureException("Database unavailable"))
+				.thenAnswer(invocation -> invocation.getArgument(0));
+		jobEventService.createEvent(job, "First");
+		jobEventService.createEvent(job, "Second");
+
+		// WHEN:
+		assertThrows(DataAccessResourceFailureException.class, () -> {
+			jobEventService.flushEvents(job);
+		});
+		jobEventService.createEvent(job, "Third");
+		jobEventService.flushEvents(job);
+
+		// THEN:
+		assertThat(savedMessages(2).get(1), contains("First", "Second", "Third"));
+	}
+
+	@Test
+	@DisplayName("Persisted events are not written again")
+	public void eventsRemovedWhenPersisted() {
+		// GIVEN:
+		when(jobEventRepository.saveAll(any()))
+				.thenAnswer(invocation -> invocation.getArgument(0));
+		jobEventService.createEvent(job, "First");
+
+		// WHEN:
+		jobEventService.flushEvents(job);
+		jobEventService.flushEvents(job);
+
+		// THEN:
+		assertThat(savedMessages(1).get(0), contains("First"));
+	}
+
+	@SuppressWarnings("unchecked")
+	private List<List<String>> savedMessages(int times) {
+		final ArgumentCaptor<Iterable<JobEvent>> captor = ArgumentCaptor.forClass(Iterable.class);
+		verify(jobEventRepository, times(times)).saveAll(captor.capture());
+		final List<List<String>> messages = captor
+				.getAllValues()
+				.stream()
+				.map(events -> ((List<JobEvent>) events).stream().map(JobEvent::getMessage).toList())
+				.toList();
+		assertThat(messages.size(), is(times));
+		return messages;
+	}
+}
@@ -0,0 +1,119 @@
+/**
+ * The MIT License
+ * Copyright © 2022 FAIR Data Team
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.fairdatatrain.fairdatastation.service.interaction;
+
+import org.fairdatatrain.fairdatastation.config.properties.JobProperties;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.Statement;
+
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.*;
+
+@DisplayName("JobQueueListener: wake-up on notifications")
+public class JobQueueListenerTest {
+
+	private static final long TIMEOUT_MILLIS = 5_000;
+
+	private DataSource dataSource;
+
+	private PGConnection pgConnection;
+
+	private Statement statement;
+
+	private JobProcessor jobProcessor;
+
+	private JobProperties jobProperties;
+
+	private JobQueueListener listener;
+
+	@BeforeEach
+	public void setUp() throws Exception {
+		dataSource = mock(DataSource.class);
+		pgConnection = mock(PGConnection.class);
+		statement = mock(Statement.class);
+		final Connection connection = mock(Connection.class);
+		when(dataSource.getConnection()).thenReturn(connection);
+		when(connection.unwrap(PGConnection.class)).thenReturn(pgConnection);
+		when(connection.createStatement()).thenReturn(statement);
+		// nothing more arrives after the first notification
+		when(pgConnection.getNotifications(anyInt()))
+				.thenReturn(new PGNotification[]{mock(PGNotification.class)})
+				.thenAnswer(invocation -> {
+					Thread.sleep(10);
+					return null;
+				});
+		jobProcessor = mock(JobProcessor.class);
+		jobProperties = new JobProperties();
+		listener = new JobQueueListener(dataSource, jobProcessor, jobProperties);
+	}
+
+	@AfterEach
+	public void tearDown() {
+		listener.stop();
+	}
+
+	@Test
+	@DisplayName("Jobs queued before listening and on notification are processed")
+	public void processOnNotification() throws Exception {
+		// WHEN:
+		listener.start();
+
+		// THEN:
+		verify(statement, timeout(TIMEOUT_MILLIS)).execute("LISTEN job_queue");
+		verify(jobProcessor, timeout(TIMEOUT_MILLIS).times(2)).processJobs();
+	}
+
+	@Test
+	@DisplayName("Listener is started only once")
+	public void startOnce() throws Exception {
+		// WHEN:
+		listener.start();
+		listener.start();
+
+		// THEN:
+		verify(pgConnection, timeout(TIMEOUT_MILLIS).atLeast(2)).getNotifications(anyInt());
+		verify(dataSource, times(1)).getConnection();
+	}
+
+	@Test
+	@DisplayName("Disabled listener relies on polling")
+	public void disabled() throws Exception {
+		// GIVEN:
+		jobProperties.setListen(false);
+
+		// WHEN:
+		listener.start();
+
+		// THEN:
+		verify(dataSource, after(100).never()).getConnection();
+		verifyNoInteractions(jobProcessor);
+	}
+}
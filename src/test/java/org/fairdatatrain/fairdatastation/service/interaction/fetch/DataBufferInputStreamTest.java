@@ -0,0 +1,144 @@
+/**
+ * The MIT License
+ * Copyright © 2022 FAIR Data Team
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.fairdatatrain.fairdatastation.service.interaction.fetch;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import reactor.core.publisher.Flux;
+
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@DisplayName("DataBufferInputStream")
+public class DataBufferInputStreamTest {
+
+	private static final int BUFFER_SIZE = 100;
+
+	private static final int PREFETCH = 32;
+
+	private final AtomicLong requested = new AtomicLong();
+
+	private final AtomicBoolean cancelled = new AtomicBoolean();
+
+	@Test
+	@DisplayName("reads all buffers of the body")
+	public void readAll() throws IOException {
+		// GIVEN:
+		final DataBufferInputStream input = new DataBufferInputStream(0);
+		body(1000).subscribe(input);
+
+		// WHEN:
+		final byte[] data = input.readAllBytes();
+
+		// THEN:
+		assertThat(data.length, is(equalTo(1000 * BUFFER_SIZE)));
+		assertThat(data[BUFFER_SIZE * 7], is(equalTo((byte) 7)));
+	}
+
+	@Test
+	@DisplayName("requests buffers only as they are consumed")
+	public void backpressure() throws IOException {
+		// GIVEN:
+		final DataBufferInputStream input = new DataBufferInputStream(0);
+		body(1000).subscribe(input);
+
+		// WHEN:
+		final long prefetched = requested.get();
+		input.readNBytes(BUFFER_SIZE * PREFETCH);
+		final long afterPrefetch = requested.get();
+
+		// THEN:
+		assertThat(prefetched, is(equalTo((long) PREFETCH)));
+		assertThat(afterPrefetch, is(both(greaterThan((long) PREFETCH))
+				.and(lessThanOrEqualTo((long) PREFETCH * 2))));
+		input.close();
+		assertThat(cancelled.get(), is(true));
+	}
+
+	@Test
+	@DisplayName("fails once the body exceeds maximum size")
+	public void maxSize() {
+		// GIVEN:
+		final DataBufferInputStream input = new DataBufferInputStream(BUFFER_SIZE * 5 / 2);
+		body(10).subscribe(input);
+
+		// WHEN:
+		final IOException exception = assertThrows(IOException.class, input::readAllBytes);
+
+		// THEN:
+		assertThat(exception.getMessage(), containsString("maximum size of 250 bytes"));
+		assertThat(cancelled.get(), is(true));
+	}
+
+	@Test
+	@DisplayName("reports failed body as IOException")
+	public void error() throws IOException {
+		// GIVEN:
+		final DataBufferInputStream input = new DataBufferInputStream(0);
+		body(2).concatWith(Flux.error(new IllegalStateException("Connection reset")))
+				.subscribe(input);
+
+		// WHEN:
+		final byte[] first = input.readNBytes(BUFFER_SIZE * 2);
+		final IOException exception = assertThrows(IOException.class, input::read);
+
+		// THEN:
+		assertThat(first.length, is(equalTo(BUFFER_SIZE * 2)));
+		assertThat(exception.getMessage(), is(equalTo("Connection reset")));
+	}
+
+	@Test
+	@DisplayName("closed stream cancels the body")
+	public void closed() {
+		// GIVEN:
+		final DataBufferInputStream input = new DataBufferInputStream(0);
+		body(1000).subscribe(input);
+
+		// WHEN:
+		input.close();
+
+		// THEN:
+		assertThat(cancelled.get(), is(true));
+		assertThrows(IOException.class, input::read);
+	}
+
+	private Flux<DataBuffer> body(int buffers) {
+		return Flux
+				.range(0, buffers)
+				.map(index -> {
+					final byte[] bytes = new byte[BUFFER_SIZE];
+					bytes[0] = index.byteValue();
+					return DefaultDataBufferFactory.sharedInstance.wrap(bytes);
+				})
+				.cast(DataBuffer.class)
+				.doOnRequest(requested::addAndGet)
+				.doOnCancel(() -> cancelled.set(true));
+	}
+}
@@ -0,0 +1,191 @@
+/**
+ * The MIT License
+ * Copyright © 2022 FAIR Data Team
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.fairdatatrain.fairdatastation.service.interaction.fetch;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.eclipse.rdf4j.model.Model;
+import org.eclipse.rdf4j.model.impl.LinkedHashModel;
+import org.eclipse.rdf4j.model.util.Values;
+import org.eclipse.rdf4j.model.vocabulary.DCAT;
+import org.eclipse.rdf4j.model.vocabulary.RDF;
+import org.fairdatatrain.fairdatastation.config.properties.FetchCacheProperties;
+import org.fairdatatrain.fairdatastation.service.interaction.fetch.TrainMetadataCache.CachedModel;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+
+import java.time.Duration;
+import java.time.Instant;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+@DisplayName("TrainMetadataCache: HTTP caching headers")
+public class TrainMetadataCacheTest {
+
+	private static final String URI = "https://example.com/train";
+
+	private static final String OTHER_URI = "https://example.com/other";
+
+	private static final String ETAG = "\"v1\"";
+
+	private FetchCacheProperties properties;
+
+	private TrainMetadataCache cache;
+
+	@BeforeEach
+	public void setUp() {
+		properties = new FetchCacheProperties();
+		cache = new TrainMetadataCache(properties, new SimpleMeterRegistry());
+	}
+
+	@AfterEach
+	public void tearDown() {
+		cache.clear();
+	}
+
+	@Test
+	@DisplayName("max-age keeps the model fresh")
+	public void maxAge() {
+		// WHEN:
+		cache.put(URI, model(URI), headers("public, max-age=60"));
+
+		// THEN:
+		final CachedModel cached = cache.get(URI).orElseThrow();
+		assertThat(cached.isFresh(), is(true));
+		assertThat(cached.getEtag(), is(equalTo(ETAG)));
+		assertThat(cached.getModel(), is(equalTo(model(URI))));
+	}
+
+	@Test
+	@DisplayName("no-cache keeps the model for revalidation only")
+	public void noCache() {
+		// WHEN:
+		cache.put(URI, model(URI), headers("no-cache, max-age=60"));
+
+		// THEN:
+		final CachedModel cached = cache.get(URI).orElseThrow();
+		assertThat(cached.isFresh(), is(false));
+		assertThat(cached.getEtag(), is(equalTo(ETAG)));
+	}
+
+	@Test
+	@DisplayName("no-store is not cached at all")
+	public void noStore() {
+		// WHEN:
+		cache.put(URI, model(URI), headers("No-Store"));
+
+		// THEN:
+		assertThat(cache.get(URI).isPresent(), is(false));
+	}
+
+	@Test
+	@DisplayName("Expires is used without max-age")
+	public void expires() {
+		// GIVEN:
+		final HttpHeaders headers = headers(null);
+		headers.setExpires(Instant.now().plusSeconds(60));
+
+		// WHEN:
+		cache.put(URI, model(URI), headers);
+
+		// THEN:
+		assertThat(cache.get(URI).orElseThrow().isFresh(), is(true));
+	}
+
+	@Test
+	@DisplayName("default TTL applies without freshness headers")
+	public void defaultTtl() {
+		// GIVEN:
+		cache.put(URI, model(URI), headers(null));
+		properties.setDefaultTtl(Duration.ofMinutes(1));
+
+		// WHEN:
+		cache.put(OTHER_URI, model(OTHER_URI), headers(null));
+
+		// THEN:
+		assertThat(cache.get(URI).orElseThrow().isFresh(), is(false));
+		assertThat(cache.get(OTHER_URI).orElseThrow().isFresh(), is(true));
+	}
+
+	@Test
+	@DisplayName("revalidation refreshes the model")
+	public void revalidated() {
+		// GIVEN:
+		cache.put(URI, model(URI), headers("no-cache"));
+
+		// WHEN:
+		cache.revalidated(URI, headers("max-age=60"));
+
+		// THEN:
+		assertThat(cache.get(URI).orElseThrow().isFresh(), is(true));
+	}
+
+	@Test
+	@DisplayName("entries beyond the limit are spilled and loaded back")
+	public void spilled() {
+		// GIVEN:
+		properties.setMaxEntries(1);
+		properties.setMaxSpilledEntries(1);
+
+		// WHEN:
+		cache.put(URI, model(URI), headers("max-age=60"));
+		cache.put(OTHER_URI, model(OTHER_URI), headers("max-age=60"));
+
+		// THEN:
+		assertThat(cache.get(URI).orElseThrow().getModel(), is(equalTo(model(URI))));
+		assertThat(cache.get(OTHER_URI).orElseThrow().getModel(), is(equalTo(model(OTHER_URI))));
+	}
+
+	@Test
+	@DisplayName("entries beyond the limits are dropped")
+	public void dropped() {
+		// GIVEN:
+		properties.setMaxEntries(1);
+
+		// WHEN:
+		cache.put(URI, model(URI), headers("max-age=60"));
+		cache.put(OTHER_URI, model(OTHER_URI), headers("max-age=60"));
+
+		// THEN:
+		assertThat(cache.get(URI).isPresent(), is(false));
+		assertThat(cache.get(OTHER_URI).isPresent(), is(true));
+	}
+
+	private static HttpHeaders headers(String cacheControl) {
+		final HttpHeaders headers = new HttpHeaders();
+		headers.setETag(ETAG);
+		if (cacheControl != null) {
+			headers.setCacheControl(cacheControl);
+		}
+		return headers;
+	}
+
+	private static Model model(String uri) {
+		final Model model = new LinkedHashModel();
+		model.add(Values.iri(uri), RDF.TYPE, DCAT.DATASET);
+		return model;
+	}
+}
@@ -0,0 +1,168 @@
+/**
+ * The MIT License
+ * Copyright © 2022 FAIR Data Team
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.fairdatatrain.fairdatastation.service.interaction.train.sparql;
+
+import org.eclipse.rdf4j.model.impl.LinkedHashModel;
+import org.eclipse.rdf4j.model.util.Values;
+import org.fairdatatrain.fairdatastation.config.properties.QueryOriginProperties;
+import org.fairdatatrain.fairdatastation.config.properties.QueryProperties;
+import org.fairdatatrain.fairdatastation.data.model.enums.JobStage;
+import org.fairdatatrain.fairdatastation.data.model.enums.JobStatus;
+import org.fairdatatrain.fairdatastation.data.model.event.Job;
+import org.fairdatatrain.fairdatastation.service.accesscontrol.BasicAccessControlService;
+import org.fairdatatrain.fairdatastation.service.event.job.JobService;
+import org.fairdatatrain.fairdatastation.service.event.job.artifact.JobArtifactService;
+import org.fairdatatrain.fairdatastation.service.event.job.checkpoint.JobCheckpointService;
+import org.fairdatatrain.fairdatastation.service.event.job.event.JobEventService;
+import org.fairdatatrain.fairdatastation.service.interaction.fetch.TrainFetcher;
+import org.fairdatatrain.fairdatastation.service.storage.TripleStoreStorage;
+import org.fairdatatrain.fairdatastation.service.storage.query.QueryGuardRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@DisplayName("SPARQLTrainInteraction: query admission")
+public class SPARQLTrainInteractionAdmissionTest {
+
+	private static final String QUERY = "SELECT * WHERE { ?s ?p ?o }";
+
+	private JobService jobService;
+
+	private JobEventService jobEventService;
+
+	private TripleStoreStorage tripleStoreStorage;
+
+	private SPARQLTrainInteraction interaction;
+
+	private QueryGuardRegistry queryGuards;
+
+	@BeforeEach
+	public void setUp() throws Exception {
+		jobService = mock(JobService.class);
+		jobEventService = mock(JobEventService.class);
+		tripleStoreStorage = mock(TripleStoreStorage.class);
+		final JobCheckpointService jobCheckpointService = mock(JobCheckpointService.class);
+		// resumed with validated query
+		when(jobCheckpointService.load(any(), eq(JobStage.PAYLOAD_VALIDATED), any()))
+				.thenReturn(Optional.of(QUERY));
+		final QueryOriginProperties limits = new QueryOriginProperties();
+		limits.setMaxCost(1_000);
+		limits.setLowPriorityCost(100);
+		final QueryProperties queryProperties = new QueryProperties();
+		queryProperties.setOriginDefaults(limits);
+		queryGuards = new QueryGuardRegistry(queryProperties);
+		when(tripleStoreStorage.getQueryGuards()).thenReturn(queryGuards);
+		interaction = new SPARQLTrainInteraction(
+				mock(BasicAccessControlService.class),
+				jobEventService,
+				mock(JobArtifactService.class),
+				jobService,
+				mock(TrainFetcher.class),
+				jobCheckpointService,
+				tripleStoreStorage
+		);
+	}
+
+	@Test
+	@DisplayName("executes cheap query")
+	public void accept() throws Exception {
+		// GIVEN:
+		final Job job = job(0);
+		when(tripleStoreStorage.estimateCost(QUERY)).thenReturn(50L);
+
+		// WHEN:
+		interact(job);
+
+		// THEN:
+		verify(tripleStoreStorage).executeQuery(eq(QUERY), any(), eq("*/*"), any(), any());
+		verify(jobService).updateStatus(job, JobStatus.FINISHED);
+		verify(jobService, never()).deferJob(any(), anyInt());
+	}
+
+	@Test
+	@DisplayName("defers expensive query to low-priority lane")
+	public void lowPriority() throws Exception {
+		// GIVEN:
+		final Job job = job(0);
+		when(tripleStoreStorage.estimateCost(QUERY)).thenReturn(500L);
+
+		// WHEN:
+		interact(job);
+
+		// THEN:
+		verify(jobService).deferJob(job, queryGuards.getLowPriority());
+		verify(jobEventService).createEvent(eq(job), anyString(), eq(JobStatus.QUEUED));
+		verify(tripleStoreStorage, never()).executeQuery(any(), any(), anyString(), any(), any());
+		verify(jobService, never()).updateStatus(eq(job), any());
+	}
+
+	@Test
+	@DisplayName("executes expensive query already deferred")
+	public void lowPriorityResumed() throws Exception {
+		// GIVEN:
+		final Job job = job(queryGuards.getLowPriority());
+		when(tripleStoreStorage.estimateCost(QUERY)).thenReturn(500L);
+
+		// WHEN:
+		interact(job);
+
+		// THEN:
+		verify(tripleStoreStorage).executeQuery(eq(QUERY), any(), eq("*/*"), any(), any());
+		verify(jobService, never()).deferJob(any(), anyInt());
+	}
+
+	@Test
+	@DisplayName("fails job with too expensive query")
+	public void reject() throws Exception {
+		// GIVEN:
+		final Job job = job(0);
+		when(tripleStoreStorage.estimateCost(QUERY)).thenReturn(5_000L);
+
+		// WHEN:
+		interact(job);
+
+		// THEN:
+		verify(jobService).updateStatus(job, JobStatus.FAILED);
+		verify(tripleStoreStorage, never()).executeQuery(any(), any(), anyString(), any(), any());
+	}
+
+	private void interact(Job job) {
+		interaction.interact(job, new LinkedHashModel(), Values.iri("http://localhost/train"));
+	}
+
+	private static Job job(int priority) {
+		return Job
+				.builder()
+				.uuid(UUID.randomUUID())
+				.origin("localhost")
+				.priority(priority)
+				.attempts(1)
+				.build();
+	}
+}
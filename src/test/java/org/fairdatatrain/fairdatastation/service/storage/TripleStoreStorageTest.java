@@ -0,0 +1,210 @@
+/**
+ * The MIT License
+ * Copyright © 2022 FAIR Data Team
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.fairdatatrain.fairdatastation.service.storage;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.eclipse.rdf4j.model.IRI;
+import org.eclipse.rdf4j.model.Model;
+import org.eclipse.rdf4j.model.ValueFactory;
+import org.eclipse.rdf4j.model.impl.SimpleValueFactory;
+import org.eclipse.rdf4j.model.vocabulary.DCAT;
+import org.eclipse.rdf4j.model.vocabulary.RDF;
+import org.eclipse.rdf4j.query.impl.TupleQueryResultBuilder;
+import org.eclipse.rdf4j.query.resultio.QueryResultIO;
+import org.eclipse.rdf4j.query.resultio.TupleQueryResultFormat;
+import org.eclipse.rdf4j.repository.RepositoryConnection;
+import org.eclipse.rdf4j.repository.sail.SailRepository;
+import org.eclipse.rdf4j.rio.RDFFormat;
+import org.eclipse.rdf4j.rio.Rio;
+import org.eclipse.rdf4j.sail.memory.MemoryStore;
+import org.fairdatatrain.fairdatastation.config.properties.QueryCacheProperties;
+import org.fairdatatrain.fairdatastation.config.properties.QueryProperties;
+import org.fairdatatrain.fairdatastation.service.interaction.entity.InteractionArtifact;
+import org.fairdatatrain.fairdatastation.service.interaction.entity.InteractionArtifactSink;
+import org.fairdatatrain.fairdatastation.service.storage.cache.ParsedQueryCache;
+import org.fairdatatrain.fairdatastation.service.storage.cache.QueryResultCache;
+import org.fairdatatrain.fairdatastation.service.storage.query.QueryCostEstimator;
+import org.fairdatatrain.fairdatastation.service.storage.query.QueryGuard;
+import org.fairdatatrain.fairdatastation.service.storage.query.QueryGuardRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static java.lang.String.format;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.mockito.Mockito.mock;
+
+@DisplayName("TripleStoreStorage: multiple result formats")
+public class TripleStoreStorageTest {
+
+	private static final int DATASETS = 3;
+
+	private static final String SELECT_QUERY = """
+			PREFIX dcat: <http://www.w3.org/ns/dcat#>
+			SELECT ?dataset WHERE { ?dataset a dcat:Dataset }
+			""";
+
+	private static final String CONSTRUCT_QUERY = """
+			PREFIX dcat: <http://www.w3.org/ns/dcat#>
+			CONSTRUCT { ?dataset a dcat:Dataset } WHERE { ?dataset a dcat:Dataset }
+			""";
+
+	private SailRepository store;
+
+	private TripleStoreStorage storage;
+
+	private final List<InteractionArtifact> artifacts = new ArrayList<>();
+
+	@BeforeEach
+	public void setUp() {
+		store = new SailRepository(new MemoryStore());
+		store.init();
+		try (RepositoryConnection connection = store.getConnection()) {
+			final ValueFactory factory = connection.getValueFactory();
+			for (int index = 0; index < DATASETS; index++) {
+				final IRI dataset = factory.createIRI(format("urn:dataset:%d", index));
+				connection.add(dataset, RDF.TYPE, DCAT.DATASET);
+			}
+		}
+		final QueryProperties queryProperties = new QueryProperties();
+		final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+		storage = new TripleStoreStorage(
+				store,
+				new QueryResultCache(new QueryCacheProperties(), meterRegistry, store),
+				new QueryGuardRegistry(queryProperties),
+				mock(QueryCostEstimator.class),
+				new ParsedQueryCache(queryProperties, meterRegistry)
+		);
+	}
+
+	@AfterEach
+	public void tearDown() {
+		store.shutDown();
+	}
+
+	@Test
+	@DisplayName("SELECT is evaluated once and written in each format")
+	public void selectFormats() throws Exception {
+		// GIVEN:
+		final QueryGuard guard = QueryGuard.unlimited();
+		final Set<String> spools = listSpools();
+
+		// WHEN:
+		storage.executeQuery(SELECT_QUERY, "Result", Set.of(
+				TupleQueryResultFormat.JSON.getDefaultMIMEType(),
+				TupleQueryResultFormat.CSV.getDefaultMIMEType(),
+				TupleQueryResultFormat.SPARQL.getDefaultMIMEType()
+		), collectingSink(), guard);
+
+		// THEN:
+		assertThat(guard.getRows(), is(equalTo((long) DATASETS)));
+		assertThat(artifacts, hasSize(3));
+		for (InteractionArtifact artifact : artifacts) {
+			final TupleQueryResultFormat format = (TupleQueryResultFormat) QueryResultIO
+					.getParserFormatForMIMEType(artifact.getContentType())
+					.orElseThrow();
+			final TupleQueryResultBuilder result = new TupleQueryResultBuilder();
+			QueryResultIO.parseTuple(new ByteArrayInputStream(artifact.getData()), format,
+					result, SimpleValueFactory.getInstance());
+			final long solutions = result.getQueryResult().stream().count();
+			assertThat(artifact.getContentType(), solutions, is(equalTo((long) DATASETS)));
+		}
+		assertThat(listSpools(), is(equalTo(spools)));
+	}
+
+	@Test
+	@DisplayName("CONSTRUCT is evaluated once and written in each format")
+	public void constructFormats() throws Exception {
+		// GIVEN:
+		final QueryGuard guard = QueryGuard.unlimited();
+
+		// WHEN:
+		storage.executeQuery(CONSTRUCT_QUERY, "Result", Set.of(
+				RDFFormat.TURTLE.getDefaultMIMEType(),
+				RDFFormat.NTRIPLES.getDefaultMIMEType()
+		), collectingSink(), guard);
+
+		// THEN:
+		assertThat(guard.getRows(), is(equalTo((long) DATASETS)));
+		assertThat(artifacts, hasSize(2));
+		for (InteractionArtifact artifact : artifacts) {
+			final RDFFormat format = Rio
+					.getParserFormatForMIMEType(artifact.getContentType())
+					.orElseThrow();
+			final Model model = Rio.parse(new ByteArrayInputStream(artifact.getData()), format);
+			assertThat(artifact.getContentType(), model.size(), is(equalTo(DATASETS)));
+		}
+	}
+
+	@Test
+	@DisplayName("Single format is streamed directly")
+	public void singleFormat() throws Exception {
+		// GIVEN:
+		final QueryGuard guard = QueryGuard.unlimited();
+
+		// WHEN:
+		storage.executeQuery(SELECT_QUERY, "Result",
+				TupleQueryResultFormat.JSON.getDefaultMIMEType(), collectingSink(), guard);
+
+		// THEN:
+		assertThat(artifacts, hasSize(1));
+		assertThat(artifacts.get(0).getFilename(), is(equalTo("result.srj")));
+		assertThat(guard.getRows(), is(equalTo((long) DATASETS)));
+	}
+
+	private InteractionArtifactSink collectingSink() {
+		return (artifact, writer) -> {
+			final ByteArrayOutputStream output = new ByteArrayOutputStream();
+			try {
+				writer.write(output);
+			}
+			catch (IOException exception) {
+				throw new IllegalStateException(exception);
+			}
+			artifact.setData(output.toByteArray());
+			artifacts.add(artifact);
+		};
+	}
+
+	private static Set<String> listSpools() throws IOException {
+		try (Stream<Path> files = Files.list(Path.of(System.getProperty("java.io.tmpdir")))) {
+			return files
+					.map(file -> file.getFileName().toString())
+					.filter(name -> name.startsWith("fds-query-"))
+					.collect(Collectors.toSet());
+		}
+	}
+}
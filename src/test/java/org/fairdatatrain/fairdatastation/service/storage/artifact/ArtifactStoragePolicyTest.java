@@ -0,0 +1,118 @@
+/**
+ * The MIT License
+ * Copyright © 2022 FAIR Data Team
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.fairdatatrain.fairdatastation.service.storage.artifact;
+
+import org.fairdatatrain.fairdatastation.config.properties.ArtifactProperties;
+import org.fairdatatrain.fairdatastation.data.model.enums.ArtifactStorage;
+import org.fairdatatrain.fairdatastation.data.repository.event.JobArtifactDataRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.FileSystemUtils;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Random;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.mockito.Mockito.mock;
+
+@DisplayName("ArtifactStoragePolicy: large artifacts")
+public class ArtifactStoragePolicyTest {
+
+	private static final int THRESHOLD = 1024;
+
+	private Path dir;
+
+	private ArtifactStoragePolicy policy;
+
+	@BeforeEach
+	public void setUp() throws IOException {
+		dir = Files.createTempDirectory("fds-artifacts");
+		final ArtifactProperties artifactProperties = new ArtifactProperties();
+		artifactProperties.setStorage(ArtifactStorage.POSTGRES);
+		artifactProperties.setLargeStorage(ArtifactStorage.LOCALFS);
+		artifactProperties.setLargeThreshold(DataSize.ofBytes(THRESHOLD));
+		artifactProperties.getLocalfs().setDir(dir.toString());
+		policy = new ArtifactStoragePolicy(artifactProperties, List.of(
+				new PostgresArtifactStore(mock(JobArtifactDataRepository.class)),
+				new LocalFsArtifactStore(artifactProperties)
+		));
+	}
+
+	@AfterEach
+	public void tearDown() throws IOException {
+		FileSystemUtils.deleteRecursively(dir);
+	}
+
+	@Test
+	@DisplayName("keeps artifact within threshold in default storage")
+	public void smallArtifact() throws IOException {
+		// GIVEN:
+		final byte[] data = randomData(THRESHOLD);
+
+		// WHEN:
+		final StoredArtifact storedArtifact = write(data);
+
+		// THEN:
+		assertThat(storedArtifact.getStorage(), is(equalTo(ArtifactStorage.POSTGRES)));
+		assertThat(storedArtifact.getData(), is(equalTo(data)));
+	}
+
+	@Test
+	@DisplayName("continues in large storage once threshold is exceeded")
+	public void largeArtifact() throws IOException {
+		// GIVEN:
+		final byte[] data = randomData(THRESHOLD * 3);
+
+		// WHEN:
+		final StoredArtifact storedArtifact = write(data);
+
+		// THEN:
+		assertThat(storedArtifact.getStorage(), is(equalTo(ArtifactStorage.LOCALFS)));
+		assertThat(storedArtifact.getData(), is(nullValue()));
+		assertThat(Files.readAllBytes(dir.resolve(storedArtifact.getLocation())),
+				is(equalTo(data)));
+	}
+
+	private StoredArtifact write(byte[] data) throws IOException {
+		try (AbstractArtifactUpload upload = policy.startUpload()) {
+			// written in pieces crossing the threshold
+			for (int offset = 0; offset < data.length; offset += 100) {
+				upload.write(data, offset, Math.min(100, data.length - offset));
+			}
+			return upload.complete();
+		}
+	}
+
+	private static byte[] randomData(int size) {
+		final byte[] data = new byte[size];
+		new Random(size).nextBytes(data);
+		return data;
+	}
+}
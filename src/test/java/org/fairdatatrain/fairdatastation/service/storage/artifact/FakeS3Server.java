@@ -0,0 +1,260 @@
+/**
+ * The MIT License
+ * Copyright © 2022 FAIR Data Team
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.fairdatatrain.fairdatastation.service.storage.artifact;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static java.lang.String.format;
+
+// in-process S3 (path-style, single bucket) covering what S3ArtifactStore uses
+public class FakeS3Server implements AutoCloseable {
+
+	private final HttpServer server;
+
+	private final String bucket;
+
+	private final Map<String, byte[]> objects = new ConcurrentHashMap<>();
+
+	private final Map<String, TreeMap<Integer, byte[]>> uploads = new ConcurrentHashMap<>();
+
+	private final Map<String, Integer> requests = new ConcurrentHashMap<>();
+
+	public FakeS3Server(String bucket) throws IOException {
+		this.bucket = bucket;
+		this.server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+		this.server.createContext("/", this::handle);
+		this.server.start();
+	}
+
+	public String getEndpoint() {
+		return format("http://localhost:%d", server.getAddress().getPort());
+	}
+
+	public Map<String, byte[]> getObjects() {
+		return objects;
+	}
+
+	public Map<String, TreeMap<Integer, byte[]>> getUploads() {
+		return uploads;
+	}
+
+	public int getRequestCount(String operation) {
+		return requests.getOrDefault(operation, 0);
+	}
+
+	@Override
+	public void close() {
+		server.stop(0);
+	}
+
+	private void handle(HttpExchange exchange) throws IOException {
+		try (exchange) {
+			final String path = exchange.getRequestURI().getPath();
+			final Map<String, String> query = parseQuery(exchange.getRequestURI().getRawQuery());
+			if (!path.startsWith("/" + bucket + "/")) {
+				sendError(exchange, 404, "NoSuchBucket");
+				return;
+			}
+			final String key = path.substring(bucket.length() + 2);
+			final String method = exchange.getRequestMethod();
+			if (method.equals("PUT") && query.containsKey("partNumber")) {
+				uploadPart(exchange, query.get("uploadId"), Integer.parseInt(query.get("partNumber")));
+			}
+			else if (method.equals("PUT")) {
+				putObject(exchange, key);
+			}
+			else if (method.equals("POST") && query.containsKey("uploads")) {
+				createUpload(exchange, key);
+			}
+			else if (method.equals("POST") && query.containsKey("uploadId")) {
+				completeUpload(exchange, key, query.get("uploadId"));
+			}
+			else if (method.equals("DELETE") && query.containsKey("uploadId")) {
+				count("AbortMultipartUpload");
+				uploads.remove(query.get("uploadId"));
+				exchange.sendResponseHeaders(204, -1);
+			}
+			else if (method.equals("DELETE")) {
+				count("DeleteObject");
+				objects.remove(key);
+				exchange.sendResponseHeaders(204, -1);
+			}
+			else if (method.equals("GET")) {
+				getObject(exchange, key);
+			}
+			else {
+				sendError(exchange, 400, "InvalidRequest");
+			}
+		}
+	}
+
+	private void putObject(HttpExchange exchange, String key) throws IOException {
+		count("PutObject");
+		final byte[] data = readBody(exchange);
+		objects.put(key, data);
+		exchange.getResponseHeaders().add("ETag", etag(data));
+		exchange.sendResponseHeaders(200, -1);
+	}
+
+	private void createUpload(HttpExchange exchange, String key) throws IOException {
+		count("CreateMultipartUpload");
+		final String uploadId = UUID.randomUUID().toString();
+		uploads.put(uploadId, new TreeMap<>());
+		sendXml(exchange, format("<InitiateMultipartUploadResult><Bucket>%s</Bucket><Key>%s</Key>"
+				+ "<UploadId>%s</UploadId></InitiateMultipartUploadResult>", bucket, key, uploadId));
+	}
+
+	private void uploadPart(HttpExchange exchange, String uploadId, int partNumber) throws IOException {
+		count("UploadPart");
+		final byte[] data = readBody(exchange);
+		final TreeMap<Integer, byte[]> parts = uploads.get(uploadId);
+		if (parts == null) {
+			sendError(exchange, 404, "NoSuchUpload");
+			return;
+		}
+		parts.put(partNumber, data);
+		exchange.getResponseHeaders().add("ETag", etag(data));
+		exchange.sendResponseHeaders(200, -1);
+	}
+
+	private void completeUpload(HttpExchange exchange, String key, String uploadId) throws IOException {
+		count("CompleteMultipartUpload");
+		readBody(exchange);
+		final TreeMap<Integer, byte[]> parts = uploads.remove(uploadId);
+		if (parts == null) {
+			sendError(exchange, 404, "NoSuchUpload");
+			return;
+		}
+		final ByteArrayOutputStream data = new ByteArrayOutputStream();
+		parts.values().forEach(data::writeBytes);
+		objects.put(key, data.toByteArray());
+		sendXml(exchange, format("<CompleteMultipartUploadResult><Bucket>%s</Bucket><Key>%s</Key>"
+				+ "<ETag>%s</ETag></CompleteMultipartUploadResult>", bucket, key, etag(data.toByteArray())));
+	}
+
+	private void getObject(HttpExchange exchange, String key) throws IOException {
+		count("GetObject");
+		final byte[] data = objects.get(key);
+		if (data == null) {
+			sendError(exchange, 404, "NoSuchKey");
+			return;
+		}
+		exchange.sendResponseHeaders(200, data.length);
+		try (OutputStream output = exchange.getResponseBody()) {
+			output.write(data);
+		}
+	}
+
+	private void count(String operation) {
+		requests.merge(operation, 1, Integer::sum);
+	}
+
+	private byte[] readBody(HttpExchange exchange) throws IOException {
+		final byte[] body = exchange.getRequestBody().readAllBytes();
+		final String contentSha = exchange.getRequestHeaders().getFirst("x-amz-content-sha256");
+		if (contentSha != null && contentSha.startsWith("STREAMING-")) {
+			return decodeChunked(body);
+		}
+		return body;
+	}
+
+	// aws-chunked: "<hex size>;chunk-signature=<signature>\r\n<data>\r\n", ends with empty chunk
+	private byte[] decodeChunked(byte[] body) {
+		final ByteArrayOutputStream data = new ByteArrayOutputStream();
+		int position = 0;
+		while (position < body.length) {
+			int lineEnd = position;
+			while (body[lineEnd] != '\r') {
+				lineEnd++;
+			}
+			final String header = new String(body, position, lineEnd - position, StandardCharsets.US_ASCII);
+			final int size = Integer.parseInt(header.split(";")[0], 16);
+			if (size == 0) {
+				break;
+			}
+			data.write(body, lineEnd + 2, size);
+			position = lineEnd + 2 + size + 2;
+		}
+		return data.toByteArray();
+	}
+
+	private void sendXml(HttpExchange exchange, String xml) throws IOException {
+		final byte[] data = xml.getBytes(StandardCharsets.UTF_8);
+		exchange.getResponseHeaders().add("Content-Type", "application/xml");
+		exchange.sendResponseHeaders(200, data.length);
+		try (OutputStream output = exchange.getResponseBody()) {
+			output.write(data);
+		}
+	}
+
+	private void sendError(HttpExchange exchange, int status, String code) throws IOException {
+		try (InputStream input = exchange.getRequestBody()) {
+			input.readAllBytes();
+		}
+		final byte[] data = format("<Error><Code>%s</Code><Message>%s</Message></Error>", code, code)
+				.getBytes(StandardCharsets.UTF_8);
+		exchange.getResponseHeaders().add("Content-Type", "application/xml");
+		exchange.sendResponseHeaders(status, data.length);
+		try (OutputStream output = exchange.getResponseBody()) {
+			output.write(data);
+		}
+	}
+
+	private static Map<String, String> parseQuery(String query) {
+		final Map<String, String> result = new HashMap<>();
+		if (query == null) {
+			return result;
+		}
+		for (String parameter : query.split("&")) {
+			final String[] parts = parameter.split("=", 2);
+			result.put(parts[0], parts.length > 1 ? parts[1] : "");
+		}
+		return result;
+	}
+
+	private static String etag(byte[] data) {
+		try {
+			final byte[] digest = MessageDigest.getInstance("MD5").digest(data);
+			return format("\"%s\"", HexFormat.of().formatHex(digest));
+		}
+		catch (NoSuchAlgorithmException exception) {
+			throw new IllegalStateException(exception);
+		}
+	}
+}
@@ -0,0 +1,154 @@
+/**
+ * The MIT License
+ * Copyright © 2022 FAIR Data Team
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.fairdatatrain.fairdatastation.service.storage.artifact;
+
+import org.fairdatatrain.fairdatastation.config.properties.ArtifactProperties;
+import org.fairdatatrain.fairdatastation.data.model.enums.ArtifactStorage;
+import org.fairdatatrain.fairdatastation.data.model.event.JobArtifact;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.FileSystemUtils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Random;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+@DisplayName("LocalFsArtifactStore")
+public class LocalFsArtifactStoreTest {
+
+	private Path dir;
+
+	private LocalFsArtifactStore store;
+
+	@BeforeEach
+	public void setUp() throws IOException {
+		dir = Files.createTempDirectory("fds-artifacts");
+		final ArtifactProperties artifactProperties = new ArtifactProperties();
+		artifactProperties.getLocalfs().setDir(dir.toString());
+		store = new LocalFsArtifactStore(artifactProperties);
+	}
+
+	@AfterEach
+	public void tearDown() throws IOException {
+		FileSystemUtils.deleteRecursively(dir);
+	}
+
+	@Test
+	@DisplayName("stores completed artifact as file")
+	public void write() throws IOException {
+		// GIVEN:
+		final byte[] data = randomData(100_000);
+
+		// WHEN:
+		final StoredArtifact storedArtifact = write(data);
+
+		// THEN:
+		assertThat(storedArtifact.getStorage(), is(equalTo(ArtifactStorage.LOCALFS)));
+		assertThat(storedArtifact.getData(), is(nullValue()));
+		assertThat(Files.readAllBytes(dir.resolve(storedArtifact.getLocation())),
+				is(equalTo(data)));
+		assertThat(listFiles(), contains(dir.resolve(storedArtifact.getLocation())));
+	}
+
+	@Test
+	@DisplayName("reads stored artifact")
+	public void read() throws IOException {
+		// GIVEN:
+		final byte[] data = randomData(1024);
+		final JobArtifact artifact = artifact(write(data).getLocation());
+
+		// WHEN:
+		final byte[] opened;
+		try (InputStream input = store.open(artifact)) {
+			opened = input.readAllBytes();
+		}
+		final byte[] resource;
+		try (InputStream input = store.getResource(artifact).getInputStream()) {
+			resource = input.readAllBytes();
+		}
+
+		// THEN:
+		assertThat(opened, is(equalTo(data)));
+		assertThat(resource, is(equalTo(data)));
+	}
+
+	@Test
+	@DisplayName("discards incomplete upload")
+	public void discard() throws IOException {
+		// WHEN:
+		try (AbstractArtifactUpload upload = store.startUpload()) {
+			upload.write(randomData(1024));
+		}
+
+		// THEN:
+		assertThat(listFiles(), is(empty()));
+	}
+
+	@Test
+	@DisplayName("deletes stored artifact")
+	public void delete() throws IOException {
+		// GIVEN:
+		final StoredArtifact storedArtifact = write(randomData(1024));
+
+		// WHEN:
+		store.delete(storedArtifact);
+
+		// THEN:
+		assertThat(listFiles(), is(empty()));
+	}
+
+	private StoredArtifact write(byte[] data) throws IOException {
+		try (AbstractArtifactUpload upload = store.startUpload()) {
+			upload.write(data);
+			return upload.complete();
+		}
+	}
+
+	private List<Path> listFiles() throws IOException {
+		try (var files = Files.list(dir)) {
+			return files.toList();
+		}
+	}
+
+	private static JobArtifact artifact(String location) {
+		return JobArtifact
+				.builder()
+				.storage(ArtifactStorage.LOCALFS)
+				.location(location)
+				.build();
+	}
+
+	private static byte[] randomData(int size) {
+		final byte[] data = new byte[size];
+		new Random(size).nextBytes(data);
+		return data;
+	}
+}
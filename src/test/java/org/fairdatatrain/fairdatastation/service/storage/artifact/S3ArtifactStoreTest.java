@@ -0,0 +1,229 @@
+/**
+ * The MIT License
+ * Copyright © 2022 FAIR Data Team
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.fairdatatrain.fairdatastation.service.storage.artifact;
+
+import org.fairdatatrain.fairdatastation.config.properties.ArtifactProperties;
+import org.fairdatatrain.fairdatastation.config.properties.ArtifactS3Properties;
+import org.fairdatatrain.fairdatastation.data.model.enums.ArtifactStorage;
+import org.fairdatatrain.fairdatastation.data.model.event.JobArtifact;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Random;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@DisplayName("S3ArtifactStore")
+public class S3ArtifactStoreTest {
+
+	private static final String BUCKET = "artifacts";
+
+	private static final int PART_SIZE = 5 * 1024 * 1024;
+
+	private FakeS3Server server;
+
+	private S3ArtifactStore store;
+
+	@BeforeEach
+	public void setUp() throws IOException {
+		server = new FakeS3Server(BUCKET);
+		store = new S3ArtifactStore(properties(BUCKET));
+	}
+
+	@AfterEach
+	public void tearDown() {
+		store.close();
+		server.close();
+	}
+
+	@Test
+	@DisplayName("stores small artifact as single object")
+	public void writeSinglePart() throws IOException {
+		// GIVEN:
+		final byte[] data = randomData(1024);
+
+		// WHEN:
+		final StoredArtifact stored = write(data);
+
+		// THEN:
+		assertThat(stored.getStorage(), is(equalTo(ArtifactStorage.S3)));
+		assertThat(server.getObjects().get(stored.getLocation()), is(equalTo(data)));
+		assertThat(server.getRequestCount("PutObject"), is(equalTo(1)));
+		assertThat(server.getRequestCount("CreateMultipartUpload"), is(equalTo(0)));
+	}
+
+	@Test
+	@DisplayName("stores large artifact using multipart upload")
+	public void writeMultipart() throws IOException {
+		// GIVEN:
+		final byte[] data = randomData(2 * PART_SIZE + 1000);
+
+		// WHEN:
+		final StoredArtifact stored = write(data);
+
+		// THEN:
+		assertThat(server.getObjects().get(stored.getLocation()), is(equalTo(data)));
+		assertThat(server.getRequestCount("PutObject"), is(equalTo(0)));
+		assertThat(server.getRequestCount("UploadPart"), is(equalTo(3)));
+		assertThat(server.getRequestCount("CompleteMultipartUpload"), is(equalTo(1)));
+		assertThat(server.getUploads(), is(anEmptyMap()));
+	}
+
+	@Test
+	@DisplayName("reads stored artifact")
+	public void read() throws IOException {
+		// GIVEN:
+		final byte[] data = randomData(PART_SIZE + 1);
+		final JobArtifact artifact = artifact(write(data).getLocation());
+
+		// WHEN:
+		final byte[] opened;
+		try (InputStream input = store.open(artifact)) {
+			opened = input.readAllBytes();
+		}
+		final byte[] resource;
+		try (InputStream input = store.getResource(artifact).getInputStream()) {
+			resource = input.readAllBytes();
+		}
+
+		// THEN:
+		assertThat(opened, is(equalTo(data)));
+		assertThat(resource, is(equalTo(data)));
+	}
+
+	@Test
+	@DisplayName("deletes stored artifact")
+	public void delete() throws IOException {
+		// GIVEN:
+		final StoredArtifact storedArtifact = write(randomData(1024));
+
+		// WHEN:
+		store.delete(storedArtifact);
+
+		// THEN:
+		assertThat(server.getObjects(), is(anEmptyMap()));
+		assertThat(server.getRequestCount("DeleteObject"), is(equalTo(1)));
+	}
+
+	@Test
+	@DisplayName("discards incomplete single part upload")
+	public void discardSinglePart() throws IOException {
+		// WHEN:
+		try (AbstractArtifactUpload upload = store.startUpload()) {
+			upload.write(randomData(1024));
+		}
+
+		// THEN:
+		assertThat(server.getObjects(), is(anEmptyMap()));
+		assertThat(server.getRequestCount("PutObject"), is(equalTo(0)));
+	}
+
+	@Test
+	@DisplayName("deletes parts of incomplete multipart upload")
+	public void discardMultipart() throws IOException {
+		// WHEN:
+		try (AbstractArtifactUpload upload = store.startUpload()) {
+			upload.write(randomData(PART_SIZE + 1));
+			assertThat(server.getUploads().size(), is(equalTo(1)));
+		}
+
+		// THEN:
+		assertThat(server.getObjects(), is(anEmptyMap()));
+		assertThat(server.getUploads(), is(anEmptyMap()));
+		assertThat(server.getRequestCount("AbortMultipartUpload"), is(equalTo(1)));
+	}
+
+	@Test
+	@DisplayName("reports failed write as IOException")
+	public void writeFailure() throws IOException {
+		// GIVEN:
+		store.close();
+		store = new S3ArtifactStore(properties("missing"));
+
+		// WHEN:
+		try (AbstractArtifactUpload upload = store.startUpload()) {
+			upload.write(randomData(1024));
+
+			// THEN:
+			assertThrows(IOException.class, upload::complete);
+		}
+		try (AbstractArtifactUpload upload = store.startUpload()) {
+			assertThrows(IOException.class, () -> upload.write(randomData(PART_SIZE + 1)));
+		}
+	}
+
+	@Test
+	@DisplayName("reports missing object as IOException")
+	public void readFailure() {
+		// GIVEN:
+		final JobArtifact artifact = artifact("missing");
+
+		// WHEN + THEN:
+		assertThrows(IOException.class, () -> store.open(artifact));
+		assertThrows(IOException.class, () -> store.getResource(artifact).getInputStream());
+	}
+
+	private StoredArtifact write(byte[] data) throws IOException {
+		try (AbstractArtifactUpload upload = store.startUpload()) {
+			// written in pieces not aligned with parts
+			for (int offset = 0; offset < data.length; offset += 1000) {
+				upload.write(data, offset, Math.min(1000, data.length - offset));
+			}
+			return upload.complete();
+		}
+	}
+
+	private ArtifactProperties properties(String bucket) {
+		final ArtifactS3Properties s3Properties = new ArtifactS3Properties();
+		s3Properties.setEndpoint(server.getEndpoint());
+		s3Properties.setBucket(bucket);
+		s3Properties.setAccessKey("access");
+		s3Properties.setSecretKey("secret");
+		s3Properties.setPathStyleAccess(true);
+		s3Properties.setPartSize(DataSize.ofBytes(1));
+		final ArtifactProperties artifactProperties = new ArtifactProperties();
+		artifactProperties.setS3(s3Properties);
+		return artifactProperties;
+	}
+
+	private static JobArtifact artifact(String location) {
+		return JobArtifact
+				.builder()
+				.storage(ArtifactStorage.S3)
+				.location(location)
+				.build();
+	}
+
+	private static byte[] randomData(int size) {
+		final byte[] data = new byte[size];
+		new Random(size).nextBytes(data);
+		return data;
+	}
+}
@@ -0,0 +1,151 @@
+/**
+ * The MIT License
+ * Copyright © 2022 FAIR Data Team
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.fairdatatrain.fairdatastation.service.storage.cache;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.eclipse.rdf4j.model.vocabulary.DCAT;
+import org.eclipse.rdf4j.model.vocabulary.RDF;
+import org.eclipse.rdf4j.query.MalformedQueryException;
+import org.eclipse.rdf4j.query.Query;
+import org.eclipse.rdf4j.query.TupleQuery;
+import org.eclipse.rdf4j.query.TupleQueryResult;
+import org.eclipse.rdf4j.query.parser.ParsedOperation;
+import org.eclipse.rdf4j.repository.RepositoryConnection;
+import org.eclipse.rdf4j.repository.sail.SailRepository;
+import org.eclipse.rdf4j.sail.memory.MemoryStore;
+import org.fairdatatrain.fairdatastation.config.properties.QueryProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@DisplayName("ParsedQueryCache")
+public class ParsedQueryCacheTest {
+
+	private static final String QUERY = "SELECT ?s WHERE { ?s a <http://www.w3.org/ns/dcat#Catalog> }";
+
+	private static final String OTHER_QUERY = "ASK { ?s ?p ?o }";
+
+	private QueryProperties queryProperties;
+
+	private SimpleMeterRegistry meterRegistry;
+
+	@BeforeEach
+	public void setUp() {
+		queryProperties = new QueryProperties();
+		meterRegistry = new SimpleMeterRegistry();
+	}
+
+	@Test
+	@DisplayName("same query text is parsed only once")
+	public void parsedOnce() {
+		// GIVEN:
+		final ParsedQueryCache cache = new ParsedQueryCache(queryProperties, meterRegistry);
+
+		// WHEN:
+		final ParsedOperation first = cache.parse(QUERY);
+		final ParsedOperation second = cache.parse(QUERY);
+		final ParsedOperation other = cache.parse(OTHER_QUERY);
+
+		// THEN:
+		assertThat(second, is(sameInstance(first)));
+		assertThat(other, is(not(sameInstance(first))));
+		assertThat(requests("hit"), is(equalTo(1.0)));
+		assertThat(requests("miss"), is(equalTo(2.0)));
+	}
+
+	@Test
+	@DisplayName("least recently used query is evicted")
+	public void eviction() {
+		// GIVEN:
+		queryProperties.setParsedCacheSize(1);
+		final ParsedQueryCache cache = new ParsedQueryCache(queryProperties, meterRegistry);
+		final ParsedOperation first = cache.parse(QUERY);
+
+		// WHEN:
+		cache.parse(OTHER_QUERY);
+
+		// THEN:
+		assertThat(cache.parse(QUERY), is(not(sameInstance(first))));
+	}
+
+	@Test
+	@DisplayName("nothing is kept when disabled")
+	public void disabled() {
+		// GIVEN:
+		queryProperties.setParsedCacheSize(0);
+		final ParsedQueryCache cache = new ParsedQueryCache(queryProperties, meterRegistry);
+
+		// WHEN:
+		final ParsedOperation first = cache.parse(QUERY);
+
+		// THEN:
+		assertThat(cache.parse(QUERY), is(not(sameInstance(first))));
+	}
+
+	@Test
+	@DisplayName("invalid and update queries are rejected")
+	public void rejected() {
+		// GIVEN:
+		final ParsedQueryCache cache = new ParsedQueryCache(queryProperties, meterRegistry);
+
+		// WHEN + THEN:
+		assertThrows(MalformedQueryException.class, () -> cache.parseQuery("SELECT WHERE"));
+		assertThrows(MalformedQueryException.class, () -> {
+			cache.parseQuery("INSERT DATA { <urn:s> <urn:p> <urn:o> }");
+		});
+	}
+
+	@Test
+	@DisplayName("cached query is evaluated on local store")
+	public void prepare() {
+		// GIVEN:
+		final ParsedQueryCache cache = new ParsedQueryCache(queryProperties, meterRegistry);
+		final SailRepository store = new SailRepository(new MemoryStore());
+		store.init();
+		try (RepositoryConnection connection = store.getConnection()) {
+			connection.add(DCAT.CATALOG, RDF.TYPE, DCAT.CATALOG);
+			cache.parse(QUERY);
+
+			// WHEN:
+			final Query query = cache.prepare(connection, QUERY);
+
+			// THEN:
+			assertThat(query, is(instanceOf(TupleQuery.class)));
+			try (TupleQueryResult result = ((TupleQuery) query).evaluate()) {
+				assertThat(result.stream().count(), is(equalTo(1L)));
+			}
+			assertThat(requests("hit"), is(equalTo(1.0)));
+		}
+		finally {
+			store.shutDown();
+		}
+	}
+
+	private double requests(String result) {
+		return meterRegistry.get("fds.query.parsed.requests").tag("result", result).counter().count();
+	}
+}
@@ -0,0 +1,237 @@
+/**
+ * The MIT License
+ * Copyright © 2022 FAIR Data Team
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.fairdatatrain.fairdatastation.service.storage.cache;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.eclipse.rdf4j.model.vocabulary.DCAT;
+import org.eclipse.rdf4j.model.vocabulary.RDF;
+import org.eclipse.rdf4j.query.QueryLanguage;
+import org.eclipse.rdf4j.query.parser.QueryParserUtil;
+import org.eclipse.rdf4j.repository.RepositoryConnection;
+import org.eclipse.rdf4j.repository.sail.SailRepository;
+import org.eclipse.rdf4j.sail.memory.MemoryStore;
+import org.fairdatatrain.fairdatastation.config.properties.QueryCacheProperties;
+import org.fairdatatrain.fairdatastation.service.storage.cache.QueryResultCache.CachedResult;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.Random;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+@DisplayName("QueryResultCache")
+public class QueryResultCacheTest {
+
+	private static final String CONTENT_TYPE = "application/sparql-results+json";
+
+	private static final String KEY = "key";
+
+	private SailRepository store;
+
+	private QueryCacheProperties properties;
+
+	private QueryResultCache cache;
+
+	@BeforeEach
+	public void setUp() {
+		store = new SailRepository(new MemoryStore());
+		store.init();
+		properties = new QueryCacheProperties();
+		properties.setEnabled(true);
+		cache = new QueryResultCache(properties, new SimpleMeterRegistry(), store);
+	}
+
+	@AfterEach
+	public void tearDown() {
+		cache.clear();
+		store.shutDown();
+	}
+
+	@Test
+	@DisplayName("serves written result with its rows")
+	public void cached() throws IOException {
+		// GIVEN:
+		final byte[] data = randomData(1024);
+
+		// WHEN:
+		write(KEY, data, 7);
+
+		// THEN:
+		final Optional<CachedResult> cached = cache.get(KEY, CONTENT_TYPE);
+		assertThat(cached.isPresent(), is(true));
+		assertThat(read(cached.get()), is(equalTo(data)));
+		assertThat(cached.get().getRows(), is(equalTo(7L)));
+		assertThat(cache.get(KEY, "text/csv").isPresent(), is(false));
+	}
+
+	@Test
+	@DisplayName("serves result spilled to disk")
+	public void spilled() throws IOException {
+		// GIVEN:
+		properties.setMemoryThreshold(DataSize.ofBytes(100));
+		final byte[] data = randomData(10_000);
+
+		// WHEN:
+		write(KEY, data, 1);
+
+		// THEN:
+		assertThat(read(cache.get(KEY, CONTENT_TYPE).orElseThrow()), is(equalTo(data)));
+	}
+
+	@Test
+	@DisplayName("invalidation drops all results")
+	public void invalidate() throws IOException {
+		// GIVEN:
+		write(KEY, randomData(1024), 1);
+
+		// WHEN:
+		cache.invalidate();
+
+		// THEN:
+		assertThat(cache.get(KEY, CONTENT_TYPE).isPresent(), is(false));
+	}
+
+	@Test
+	@DisplayName("change of local store drops all results")
+	public void storeChange() throws IOException {
+		// GIVEN:
+		write(KEY, randomData(1024), 1);
+
+		// WHEN:
+		try (RepositoryConnection connection = store.getConnection()) {
+			connection.add(DCAT.CATALOG, RDF.TYPE, DCAT.CATALOG);
+		}
+
+		// THEN:
+		assertThat(cache.get(KEY, CONTENT_TYPE).isPresent(), is(false));
+	}
+
+	@Test
+	@DisplayName("result evaluated before invalidation is not cached")
+	public void invalidatedDuringEvaluation() throws IOException {
+		// WHEN:
+		final ByteArrayOutputStream output = new ByteArrayOutputStream();
+		cache.caching(KEY, CONTENT_TYPE, out -> {
+			out.write(randomData(1024));
+			cache.invalidate();
+		}, () -> 1).write(output);
+
+		// THEN:
+		assertThat(output.size(), is(equalTo(1024)));
+		assertThat(cache.get(KEY, CONTENT_TYPE).isPresent(), is(false));
+	}
+
+	@Test
+	@DisplayName("expired result is not served")
+	public void expired() throws IOException {
+		// GIVEN:
+		properties.setTtl(Duration.ZERO);
+
+		// WHEN:
+		write(KEY, randomData(1024), 1);
+
+		// THEN:
+		assertThat(cache.get(KEY, CONTENT_TYPE).isPresent(), is(false));
+	}
+
+	@Test
+	@DisplayName("too large result is passed through without caching")
+	public void tooLarge() throws IOException {
+		// GIVEN:
+		properties.setMaxEntrySize(DataSize.ofBytes(100));
+
+		// WHEN:
+		final byte[] written = write(KEY, randomData(1024), 1);
+
+		// THEN:
+		assertThat(written.length, is(equalTo(1024)));
+		assertThat(cache.get(KEY, CONTENT_TYPE).isPresent(), is(false));
+	}
+
+	@Test
+	@DisplayName("least recently used result is evicted")
+	public void eviction() throws IOException {
+		// GIVEN:
+		properties.setMaxEntries(2);
+		write("first", randomData(10), 1);
+		write("second", randomData(10), 1);
+		cache.get("first", CONTENT_TYPE);
+
+		// WHEN:
+		write("third", randomData(10), 1);
+
+		// THEN:
+		assertThat(cache.get("first", CONTENT_TYPE).isPresent(), is(true));
+		assertThat(cache.get("second", CONTENT_TYPE).isPresent(), is(false));
+		assertThat(cache.get("third", CONTENT_TYPE).isPresent(), is(true));
+	}
+
+	@Test
+	@DisplayName("equivalent queries share the key")
+	public void normalizedKey() {
+		// GIVEN:
+		final String query = "SELECT ?s WHERE { ?s ?p ?o }";
+		final String formatted = """
+				# all subjects
+				SELECT ?s
+				WHERE {
+				  ?s  ?p  ?o .
+				}
+				""";
+
+		// WHEN:
+		final String key = cache.computeKey(QueryParserUtil.parseQuery(
+				QueryLanguage.SPARQL, query, null));
+		final String formattedKey = cache.computeKey(QueryParserUtil.parseQuery(
+				QueryLanguage.SPARQL, formatted, null));
+
+		// THEN:
+		assertThat(formattedKey, is(equalTo(key)));
+	}
+
+	private byte[] write(String key, byte[] data, long rows) throws IOException {
+		final ByteArrayOutputStream output = new ByteArrayOutputStream();
+		cache.caching(key, CONTENT_TYPE, out -> out.write(data), () -> rows).write(output);
+		return output.toByteArray();
+	}
+
+	private static byte[] read(CachedResult cached) throws IOException {
+		final ByteArrayOutputStream output = new ByteArrayOutputStream();
+		cached.getWriter().write(output);
+		return output.toByteArray();
+	}
+
+	private static byte[] randomData(int size) {
+		final byte[] data = new byte[size];
+		new Random(size).nextBytes(data);
+		return data;
+	}
+}
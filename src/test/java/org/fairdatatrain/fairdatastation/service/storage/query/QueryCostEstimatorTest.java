@@ -0,0 +1,160 @@
+/**
+ * The MIT License
+ * Copyright © 2022 FAIR Data Team
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.fairdatatrain.fairdatastation.service.storage.query;
+
+import org.eclipse.rdf4j.model.IRI;
+import org.eclipse.rdf4j.model.ValueFactory;
+import org.eclipse.rdf4j.model.impl.SimpleValueFactory;
+import org.eclipse.rdf4j.model.vocabulary.DCAT;
+import org.eclipse.rdf4j.model.vocabulary.DCTERMS;
+import org.eclipse.rdf4j.model.vocabulary.RDF;
+import org.eclipse.rdf4j.query.QueryLanguage;
+import org.eclipse.rdf4j.query.parser.QueryParserUtil;
+import org.eclipse.rdf4j.repository.Repository;
+import org.eclipse.rdf4j.repository.RepositoryConnection;
+import org.eclipse.rdf4j.repository.base.RepositoryWrapper;
+import org.eclipse.rdf4j.repository.sail.SailRepository;
+import org.eclipse.rdf4j.sail.memory.MemoryStore;
+import org.fairdatatrain.fairdatastation.config.properties.QueryProperties;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static java.lang.String.format;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+@DisplayName("QueryCostEstimator")
+public class QueryCostEstimatorTest {
+
+	private static final String PREFIXES = """
+			PREFIX dcat: <http://www.w3.org/ns/dcat#>
+			PREFIX dct: <http://purl.org/dc/terms/>
+			""";
+
+	private static final IRI GRAPH = SimpleValueFactory.getInstance().createIRI("urn:graph:catalog");
+
+	private static final int DATASETS = 100;
+
+	private SailRepository store;
+
+	private QueryProperties queryProperties;
+
+	@BeforeEach
+	public void setUp() {
+		store = new SailRepository(new MemoryStore());
+		store.init();
+		try (RepositoryConnection connection = store.getConnection()) {
+			final ValueFactory factory = connection.getValueFactory();
+			for (int index = 0; index < DATASETS; index++) {
+				final IRI dataset = factory.createIRI(format("urn:dataset:%d", index));
+				connection.add(dataset, RDF.TYPE, DCAT.DATASET, GRAPH);
+				connection.add(dataset, DCTERMS.TITLE, factory.createLiteral("Dataset " + index));
+				if (index < 10) {
+					connection.add(dataset, DCAT.KEYWORD, factory.createLiteral("rare"));
+				}
+			}
+		}
+		queryProperties = new QueryProperties();
+	}
+
+	@AfterEach
+	public void tearDown() {
+		store.shutDown();
+	}
+
+	@Test
+	@DisplayName("counts statements matching pattern")
+	public void pattern() {
+		assertThat(estimate(store, "SELECT * WHERE { ?s a dcat:Dataset }"), is(equalTo(100L)));
+		assertThat(estimate(store, "SELECT * WHERE { ?s dcat:keyword \"rare\" }"), is(equalTo(10L)));
+		assertThat(estimate(store, "SELECT * WHERE { ?s dct:creator ?o }"), is(equalTo(0L)));
+	}
+
+	@Test
+	@DisplayName("join with shared variable costs its larger side")
+	public void join() {
+		assertThat(estimate(store, "SELECT * WHERE { ?s dcat:keyword \"rare\" ; dct:title ?t }"),
+				is(equalTo(100L)));
+	}
+
+	@Test
+	@DisplayName("join without shared variable costs cartesian product")
+	public void cartesianProduct() {
+		assertThat(estimate(store, "SELECT * WHERE { ?s dcat:keyword \"rare\" . ?d dct:title ?t }"),
+				is(equalTo(1000L)));
+	}
+
+	@Test
+	@DisplayName("pattern over statistics limit costs the counted store size")
+	public void overLimit() {
+		// GIVEN:
+		queryProperties.setStatisticsLimit(50);
+		final QueryCostEstimator estimator = new QueryCostEstimator(queryProperties, store);
+
+		// WHEN:
+		estimator.refreshStoreSize();
+
+		// THEN:
+		assertThat(estimate(estimator, store, "SELECT * WHERE { ?s a dcat:Dataset }"),
+				is(equalTo(210L)));
+	}
+
+	@Test
+	@DisplayName("pattern over statistics limit is large before store size is counted")
+	public void overLimitUnknownSize() {
+		// GIVEN:
+		queryProperties.setStatisticsLimit(50);
+
+		// WHEN + THEN:
+		assertThat(estimate(store, "SELECT * WHERE { ?s a dcat:Dataset }"), is(equalTo(50_000L)));
+	}
+
+	@Test
+	@DisplayName("remote store counts matches with bounded query")
+	public void remote() {
+		// GIVEN: repository other than local Sail repository
+		final Repository remote = new RepositoryWrapper(store);
+
+		// WHEN + THEN:
+		assertThat(estimate(remote, "SELECT * WHERE { ?s a dcat:Dataset }"), is(equalTo(100L)));
+		assertThat(estimate(remote, "SELECT * WHERE { GRAPH <urn:graph:catalog> { ?s a ?type } }"),
+				is(equalTo(100L)));
+		assertThat(estimate(remote, "SELECT * WHERE { ?s dcat:keyword \"rare\" ; dct:title ?t }"),
+				is(equalTo(100L)));
+		queryProperties.setStatisticsLimit(50);
+		assertThat(estimate(remote, "SELECT * WHERE { ?s a dcat:Dataset }"), is(equalTo(50_000L)));
+	}
+
+	private long estimate(Repository repository, String query) {
+		return estimate(new QueryCostEstimator(queryProperties, repository), repository, query);
+	}
+
+	private long estimate(QueryCostEstimator estimator, Repository repository, String query) {
+		try (RepositoryConnection connection = repository.getConnection()) {
+			return estimator.estimate(
+					QueryParserUtil.parseQuery(QueryLanguage.SPARQL, PREFIXES + query, null), connection);
+		}
+	}
+}
@@ -0,0 +1,127 @@
+/**
+ * The MIT License
+ * Copyright © 2022 FAIR Data Team
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.fairdatatrain.fairdatastation.service.storage.query;
+
+import org.fairdatatrain.fairdatastation.config.properties.QueryOriginProperties;
+import org.fairdatatrain.fairdatastation.config.properties.QueryProperties;
+import org.fairdatatrain.fairdatastation.data.model.event.Job;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+@DisplayName("QueryGuardRegistry")
+public class QueryGuardRegistryTest {
+
+	private static final String ORIGIN = "station.example.com";
+
+	private QueryGuardRegistry registry;
+
+	@BeforeEach
+	public void setUp() {
+		final QueryOriginProperties strict = new QueryOriginProperties();
+		strict.setMaxCost(1_000);
+		strict.setLowPriorityCost(100);
+		final QueryProperties properties = new QueryProperties();
+		properties.setOrigins(Map.of(ORIGIN, strict));
+		registry = new QueryGuardRegistry(properties);
+	}
+
+	@Test
+	@DisplayName("admits query by estimated cost and origin limits")
+	public void admit() {
+		assertThat(registry.admit(job(ORIGIN, 0), 50), is(equalTo(QueryAdmission.ACCEPT)));
+		assertThat(registry.admit(job(ORIGIN, 0), 500), is(equalTo(QueryAdmission.LOW_PRIORITY)));
+		assertThat(registry.admit(job(ORIGIN, 0), 5_000), is(equalTo(QueryAdmission.REJECT)));
+		// defaults of other origins
+		assertThat(registry.admit(job("other", 0), 5_000), is(equalTo(QueryAdmission.ACCEPT)));
+	}
+
+	@Test
+	@DisplayName("does not defer job already in low-priority lane")
+	public void admitDeferred() {
+		assertThat(registry.admit(job(ORIGIN, registry.getLowPriority()), 500),
+				is(equalTo(QueryAdmission.ACCEPT)));
+	}
+
+	@Test
+	@DisplayName("cancels registered query")
+	public void cancel() {
+		// GIVEN:
+		final Job job = job(ORIGIN, 0);
+		final QueryGuard guard = registry.register(job);
+
+		// WHEN:
+		final boolean cancelled = registry.cancel(job.getUuid());
+
+		// THEN:
+		assertThat(cancelled, is(true));
+		assertThat(guard.isCancelled(), is(true));
+	}
+
+	@Test
+	@DisplayName("cancels query requested before it was registered")
+	public void cancelPending() {
+		// GIVEN:
+		final Job job = job(ORIGIN, 0);
+
+		// WHEN:
+		final boolean cancelled = registry.cancel(job.getUuid());
+		final QueryGuard guard = registry.register(job);
+
+		// THEN:
+		assertThat(cancelled, is(false));
+		assertThat(guard.isCancelled(), is(true));
+	}
+
+	@Test
+	@DisplayName("drops pending cancels of jobs no longer aborting")
+	public void cancelAll() {
+		// GIVEN:
+		final Job aborting = job(ORIGIN, 0);
+		final Job other = job(ORIGIN, 0);
+		registry.cancel(other.getUuid());
+
+		// WHEN:
+		registry.cancelAll(List.of(aborting.getUuid()));
+
+		// THEN:
+		assertThat(registry.register(aborting).isCancelled(), is(true));
+		assertThat(registry.register(other).isCancelled(), is(false));
+	}
+
+	private static Job job(String origin, int priority) {
+		return Job
+				.builder()
+				.uuid(UUID.randomUUID())
+				.origin(origin)
+				.priority(priority)
+				.build();
+	}
+}
@@ -0,0 +1,87 @@
+/**
+ * The MIT License
+ * Copyright © 2022 FAIR Data Team
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.fairdatatrain.fairdatastation.service.storage.query;
+
+import org.eclipse.rdf4j.query.QueryInterruptedException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.Duration;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@DisplayName("QueryGuard: result size limit")
+public class QueryGuardTest {
+
+	private final QueryGuard guard = new QueryGuard(Duration.ZERO, 0, DataSize.ofBytes(100));
+
+	@Test
+	@DisplayName("Each result format is limited on its own")
+	public void limitPerOutput() throws IOException {
+		// GIVEN:
+		final ByteArrayOutputStream turtle = new ByteArrayOutputStream();
+		final ByteArrayOutputStream jsonld = new ByteArrayOutputStream();
+
+		// WHEN:
+		try (OutputStream output = guard.limit(turtle)) {
+			output.write(new byte[80]);
+		}
+		try (OutputStream output = guard.limit(jsonld)) {
+			output.write(new byte[80]);
+		}
+
+		// THEN:
+		assertThat(turtle.size(), is(80));
+		assertThat(jsonld.size(), is(80));
+	}
+
+	@Test
+	@DisplayName("Output exceeding the limit is interrupted")
+	public void limitExceeded() throws IOException {
+		// GIVEN:
+		final OutputStream output = guard.limit(new ByteArrayOutputStream());
+		output.write(new byte[60]);
+
+		// WHEN + THEN:
+		assertThrows(QueryInterruptedException.class, () -> output.write(new byte[60]));
+	}
+
+	@Test
+	@DisplayName("Cancelled guard interrupts writing")
+	public void cancelled() {
+		// GIVEN:
+		final OutputStream output = guard.limit(new ByteArrayOutputStream());
+
+		// WHEN:
+		guard.cancel();
+
+		// THEN:
+		assertThrows(QueryInterruptedException.class, () -> output.write(1));
+	}
+}